@@ -0,0 +1,92 @@
+package org.codechecker.eclipse.plugin.codechecker;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The checkers of a CodeChecker package, parsed from the output of the CodeChecker checkers command.
+ */
+public class CheckerCatalog {
+
+    private final String rawOutput;
+    private final ImmutableList<Checker> checkers;
+
+    /**
+     * @param rawOutput The unformatted output of the checkers command.
+     * @param checkers The parsed checkers.
+     */
+    private CheckerCatalog(String rawOutput, ImmutableList<Checker> checkers) {
+        this.rawOutput = rawOutput;
+        this.checkers = checkers;
+    }
+
+    /**
+     * Parses the output of the checkers command. Every line lists a checker, optionally with a + or - sign
+     * before its name (enabled or disabled by default), and a description after it. Empty lines, and the
+     * headers (ending with a colon) are skipped.
+     * @param rawOutput The unformatted output of the checkers command.
+     * @return The catalog.
+     */
+    public static CheckerCatalog parse(String rawOutput) {
+        ImmutableList.Builder<Checker> checkers = ImmutableList.builder();
+        for (String line : rawOutput.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.endsWith(":"))
+                continue;
+            Optional<Boolean> enabled = Optional.absent();
+            if (trimmed.startsWith("+ ") || trimmed.startsWith("- ")) {
+                enabled = Optional.of(trimmed.charAt(0) == '+');
+                trimmed = trimmed.substring(2).trim();
+            }
+            String[] parts = trimmed.split("\\s+", 2);
+            checkers.add(new Checker(parts[0], enabled, parts.length > 1 ? parts[1] : ""));
+        }
+        return new CheckerCatalog(rawOutput, checkers.build());
+    }
+
+    /**
+     * @return The unformatted output of the checkers command.
+     */
+    public String getRawOutput() {
+        return rawOutput;
+    }
+
+    /**
+     * @return The checkers in the order they were listed.
+     */
+    public ImmutableList<Checker> getCheckers() {
+        return checkers;
+    }
+
+    /**
+     * A checker of the catalog.
+     */
+    public static class Checker {
+        private final String name;
+        private final Optional<Boolean> enabled;
+        private final String description;
+
+        /**
+         * @param name The name of the checker.
+         * @param enabled Whether the checker is enabled by default, absent if not listed.
+         * @param description The description, empty if not listed.
+         */
+        public Checker(String name, Optional<Boolean> enabled, String description) {
+            this.name = name;
+            this.enabled = enabled;
+            this.description = description;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Optional<Boolean> isEnabled() {
+            return enabled;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package org.codechecker.eclipse.plugin.codechecker;
 
-import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.HashMap;
-import java.util.Map;
-
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.text.StrMatcher;
+import org.apache.commons.lang3.text.StrTokenizer;
 import org.codechecker.eclipse.plugin.codechecker.locator.InvalidCodeCheckerException;
 import org.codechecker.eclipse.plugin.config.CcConfigurationBase;
 import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
@@ -16,7 +21,9 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
 
 /**
  * Internal representation of a CodeChecker package.
@@ -24,18 +31,19 @@ import com.google.common.base.Optional;
 public class CodeChecker implements ICodeChecker {
     private static final String OPTION_SEPARATOR = " ";
 
-    private static final String LOCATION_KEY = "location";
-    private static final String RESULTS_KEY = "results";
-    private static final String LOGFILE_KEY = "logFile";
-    private static final String LOCATION_SUB = "${location}";
+    // Shown in place of the paths, when the command is displayed without a project.
     private static final String RESULTS_SUB = "${results}";
     private static final String LOGFILE_SUB = "${logFile}";
 
-    private static final String RESULTS_FOLDER = RESULTS_KEY;
+    private static final String RESULTS_FOLDER = "results";
+
+    private static final String VERSION_CMD = "version";
+    private static final String CHECKERS_CMD = "checkers";
 
     private Path location;
     private ShellExecutorHelper she;
-    private Map<String, File> subMap;
+    // The executors of the shards being analyzed, so they can be cancelled.
+    private final Set<ShellExecutorHelper> shardExecutors = ConcurrentHashMap.newKeySet();
 
     /**
      * 
@@ -50,24 +58,44 @@ public class CodeChecker implements ICodeChecker {
     public CodeChecker(Path path, ShellExecutorHelper she) throws InvalidCodeCheckerException {
         location = path;
         this.she = she;
-        subMap = new HashMap<String, File>();
-        subMap.put(LOCATION_KEY, path.toAbsolutePath().toFile());
         getVersion();
+        // A separate executor, so the background command doesn't interfere with the cancellation of
+        // an analysis running on this one.
+        final ShellExecutorHelper refreshShe = she.copy();
+        CodeCheckerCache.refreshCheckerCatalog(location, new Supplier<Optional<String>>() {
+            @Override
+            public Optional<String> get() {
+                return refreshShe.waitReturnOutput(getArguments(CHECKERS_CMD), false);
+            }
+        });
     }
 
     @Override
     @NonNull
     public String getCheckers() {
-        String cmd = LOCATION_SUB + " checkers";
-        Optional<String> ccOutput = she.waitReturnOutput(cmd, subMap, false);
-        return ccOutput.or("No Checkers found");
+        Optional<CheckerCatalog> catalog = getCheckerCatalog();
+        return catalog.isPresent() ? catalog.get().getRawOutput() : "No Checkers found";
+    }
+
+    @Override
+    public Optional<CheckerCatalog> getCheckerCatalog() {
+        return CodeCheckerCache.getCheckerCatalog(location, new Supplier<Optional<String>>() {
+            @Override
+            public Optional<String> get() {
+                return she.waitReturnOutput(getArguments(CHECKERS_CMD), false);
+            }
+        });
     }
 
     @Override
     @NonNull
     public String getVersion() throws InvalidCodeCheckerException {
-        String cmd = LOCATION_SUB + " version";
-        Optional<String> ccOutput = she.waitReturnOutput(cmd, subMap, false);
+        Optional<String> ccOutput = CodeCheckerCache.getVersion(location, new Supplier<Optional<String>>() {
+            @Override
+            public Optional<String> get() {
+                return she.waitReturnOutput(getArguments(VERSION_CMD), false);
+            }
+        });
         if (!ccOutput.isPresent() || ccOutput.get().isEmpty())
             throw new InvalidCodeCheckerException("Couldn't run CodeChecker version!");
         return ccOutput.get();
@@ -81,48 +109,105 @@ public class CodeChecker implements ICodeChecker {
     @Override
     public String analyze(Path logFile, boolean logToConsole, IProgressMonitor monitor, int taskCount,
             CcConfigurationBase config) {
+        return analyze(logFile, logToConsole, monitor, taskCount, config.get(ConfigTypes.ANAL_THREADS).trim(),
+                config);
+    }
 
-        subMap.put(RESULTS_KEY, logFile.getParent().toAbsolutePath().resolve(Paths.get(RESULTS_FOLDER)).toFile());
-        subMap.put(LOGFILE_KEY, logFile.toAbsolutePath().toFile());
-        String cmd = getSubstituteAnalyzeString(config);
+    @Override
+    public String analyze(Path logFile, boolean logToConsole, IProgressMonitor monitor, int taskCount,
+            int threads, CcConfigurationBase config) {
+        return analyze(logFile, logToConsole, monitor, taskCount, String.valueOf(threads), config);
+    }
 
-        SLogger.log(LogI.INFO, "Running analyze Command: " + cmd);
-        Optional<String> ccOutput = she.progressableWaitReturnOutput(cmd, subMap, logToConsole, monitor, taskCount);
+    /**
+     * @param logFile The build log to be analyzed.
+     * @param logToConsole Flag for indicating console logging.
+     * @param monitor ProgressMonitor for to be able to increment progress bar.
+     * @param taskCount How many analyze step to be taken.
+     * @param threads The number of analyzer threads.
+     * @param config The configuration being used.
+     * @return The last lines of the analyze command output.
+     */
+    private String analyze(Path logFile, boolean logToConsole, IProgressMonitor monitor, int taskCount,
+            String threads, CcConfigurationBase config) {
+        List<String> argv = getAnalyzeArguments(logFile.toAbsolutePath().toString(),
+                getResultsDirectory(logFile).toString(), threads, config);
+        SLogger.log(LogI.INFO, "Running analyze Command: " + Joiner.on(OPTION_SEPARATOR).join(argv));
+        Optional<String> ccOutput = she.progressableWaitReturnOutput(argv, logToConsole, monitor, taskCount);
 
         return ccOutput.or("");
     }
 
     @Override
-    public String getAnalyzeString(CcConfigurationBase config, @Nullable Path logFile) {
-        if (logFile != null) {
-            subMap.put(RESULTS_KEY, logFile.getParent().toAbsolutePath().resolve(Paths.get(RESULTS_FOLDER)).toFile());
-            subMap.put(LOGFILE_KEY, logFile.toAbsolutePath().toFile());
+    public boolean analyzeShard(Path logFile, Path resultsDirectory, int threads, Consumer<String> output,
+            CcConfigurationBase config) {
+        List<String> argv = getAnalyzeArguments(logFile.toAbsolutePath().toString(),
+                resultsDirectory.toAbsolutePath().toString(), String.valueOf(threads), config);
+        SLogger.log(LogI.INFO, "Running analyze Command: " + Joiner.on(OPTION_SEPARATOR).join(argv));
+        ShellExecutorHelper shardShe = she.copy();
+        shardExecutors.add(shardShe);
+        try {
+            return shardShe.streamOutput(argv, output);
+        } finally {
+            shardExecutors.remove(shardShe);
         }
+    }
 
-        String[] temp = getSubstituteAnalyzeString(config).split(OPTION_SEPARATOR);
-        StringBuilder cmd = new StringBuilder();
-        for (String s : temp) {
-            String tempString = s;
-            if (s.startsWith("${")) {
-                StringBuilder sb = new StringBuilder(tempString);
-                sb.delete(0, 2).deleteCharAt(sb.length() - 1);
-                if (subMap.containsKey(sb.toString()))
-                    tempString = subMap.get(sb.toString()).toString();
-            }
-            cmd.append(tempString);
-            cmd.append(OPTION_SEPARATOR);
-        }
-        return cmd.toString();
+    /**
+     * @param logFile The build log to be analyzed.
+     * @param resultsDirectory The output directory.
+     * @param threads The number of analyzer threads.
+     * @param config The configuration being used.
+     * @return The argument vector of the analyze command.
+     */
+    private List<String> getAnalyzeArguments(String logFile, String resultsDirectory, String threads,
+            CcConfigurationBase config) {
+        List<String> argv = getArguments("analyze", "-j", threads, "-n", "javarunner", "-o", resultsDirectory,
+                logFile);
+        // The extra options are split like a shell would do, quotes are respected.
+        String options = config.get(ConfigTypes.ANAL_OPTIONS);
+        if (options != null && !options.trim().isEmpty())
+            argv.addAll(new StrTokenizer(options, StrMatcher.splitMatcher(), StrMatcher.quoteMatcher())
+                    .getTokenList());
+        return argv;
+    }
+
+    /**
+     * The binary is started directly, with the arguments as they are, there's no shell in between.
+     * @param arguments The arguments of the binary.
+     * @return The argument vector of a CodeChecker command.
+     */
+    private List<String> getArguments(String... arguments) {
+        List<String> argv = new ArrayList<>();
+        argv.add(location.toAbsolutePath().toString());
+        argv.addAll(Arrays.asList(arguments));
+        return argv;
     }
 
-    private String getSubstituteAnalyzeString(CcConfigurationBase config) {
-        return LOCATION_SUB + " analyze" + " -j "
-                + config.get(ConfigTypes.ANAL_THREADS) + " -n javarunner" + " -o " + RESULTS_SUB + OPTION_SEPARATOR
-                + LOGFILE_SUB + OPTION_SEPARATOR + config.get(ConfigTypes.ANAL_OPTIONS);
+    /**
+     * @param logFile The build log to be analyzed.
+     * @return The results directory next to the build log.
+     */
+    private static Path getResultsDirectory(Path logFile) {
+        return logFile.getParent().toAbsolutePath().resolve(Paths.get(RESULTS_FOLDER));
+    }
+
+    @Override
+    public String getAnalyzeString(CcConfigurationBase config, @Nullable Path logFile) {
+        String log = LOGFILE_SUB;
+        String results = RESULTS_SUB;
+        if (logFile != null) {
+            log = logFile.toAbsolutePath().toString();
+            results = getResultsDirectory(logFile).toString();
+        }
+        return Joiner.on(OPTION_SEPARATOR).join(getAnalyzeArguments(log, results,
+                config.get(ConfigTypes.ANAL_THREADS).trim(), config));
     }
 
     @Override
     public void cancelAnalyze() {
         she.cancel();
+        for (ShellExecutorHelper shardShe : shardExecutors)
+            shardShe.cancel();
     }
 }
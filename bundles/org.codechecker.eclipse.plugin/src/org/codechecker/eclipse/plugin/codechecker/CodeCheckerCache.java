@@ -0,0 +1,137 @@
+package org.codechecker.eclipse.plugin.codechecker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codechecker.eclipse.plugin.runtime.LogI;
+import org.codechecker.eclipse.plugin.runtime.SLogger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+
+/**
+ * Process-wide cache of the version and the checker catalog of the CodeChecker packages, so they are not
+ * queried from a new python process every time a {@link CodeChecker} is created. The values are kept for
+ * the path of the binary, as long as its modification time and size don't change. Failures are not
+ * cached, the next lookup runs the command again.
+ */
+public final class CodeCheckerCache {
+
+    private static final ConcurrentMap<Path, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    /**
+     * Not called.
+     */
+    private CodeCheckerCache() {}
+
+    /**
+     * @param binary The CodeChecker binary.
+     * @param loader Runs the version command, called only if the version is not cached.
+     * @return The version, absent or empty if the loader failed.
+     */
+    static Optional<String> getVersion(Path binary, Supplier<Optional<String>> loader) {
+        Optional<Entry> entry = getEntry(binary);
+        if (entry.isPresent() && entry.get().version != null)
+            return Optional.of(entry.get().version);
+        Optional<String> version = loader.get();
+        if (entry.isPresent() && version.isPresent() && !version.get().isEmpty())
+            entry.get().version = version.get();
+        return version;
+    }
+
+    /**
+     * @param binary The CodeChecker binary.
+     * @param loader Runs the checkers command, called only if the catalog is not cached.
+     * @return The catalog, absent if the loader failed.
+     */
+    static Optional<CheckerCatalog> getCheckerCatalog(Path binary, Supplier<Optional<String>> loader) {
+        Optional<Entry> entry = getEntry(binary);
+        if (entry.isPresent() && entry.get().catalog != null)
+            return Optional.of(entry.get().catalog);
+        Optional<String> output = loader.get();
+        if (!output.isPresent() || output.get().isEmpty())
+            return Optional.absent();
+        CheckerCatalog catalog = CheckerCatalog.parse(output.get());
+        if (entry.isPresent())
+            entry.get().catalog = catalog;
+        return Optional.of(catalog);
+    }
+
+    /**
+     * Loads the checker catalog in a background job, if it's not cached yet.
+     * @param binary The CodeChecker binary.
+     * @param loader Runs the checkers command.
+     */
+    static void refreshCheckerCatalog(final Path binary, final Supplier<Optional<String>> loader) {
+        Optional<Entry> entry = getEntry(binary);
+        if (!entry.isPresent() || entry.get().catalog != null)
+            return;
+        Job job = new Job("Loading CodeChecker checkers") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                getCheckerCatalog(binary, loader);
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    /**
+     * Drops every cached value.
+     */
+    public static void clear() {
+        ENTRIES.clear();
+    }
+
+    /**
+     * @param binary The CodeChecker binary.
+     * @return The entry for the current state of the binary, absent if the binary can't be read.
+     */
+    private static Optional<Entry> getEntry(Path binary) {
+        Path key = binary.toAbsolutePath().normalize();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        } catch (IOException e) {
+            ENTRIES.remove(key);
+            return Optional.absent();
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Entry entry = ENTRIES.get(key);
+        if (entry == null || entry.lastModified != lastModified || entry.size != attributes.size()) {
+            if (entry != null)
+                SLogger.log(LogI.INFO, "CodeChecker changed, dropping the cached values of " + key);
+            entry = new Entry(lastModified, attributes.size());
+            ENTRIES.put(key, entry);
+        }
+        return Optional.of(entry);
+    }
+
+    /**
+     * The cached values of a binary.
+     */
+    private static class Entry {
+        private final long lastModified;
+        private final long size;
+        private volatile String version;
+        private volatile CheckerCatalog catalog;
+
+        /**
+         * @param lastModified The modification time of the binary.
+         * @param size The size of the binary.
+         */
+        Entry(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
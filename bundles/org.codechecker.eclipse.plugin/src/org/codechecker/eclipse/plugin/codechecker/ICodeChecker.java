@@ -1,6 +1,7 @@
 package org.codechecker.eclipse.plugin.codechecker;
 
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 import org.codechecker.eclipse.plugin.codechecker.locator.InvalidCodeCheckerException;
 import org.codechecker.eclipse.plugin.config.CcConfigurationBase;
@@ -8,6 +9,8 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
+import com.google.common.base.Optional;
+
 /**
  * Interface representing a CodeChecker package.
  */
@@ -20,6 +23,14 @@ public interface ICodeChecker {
     @NonNull
     public String getCheckers();
 
+    /**
+     * Returns the parsed output of the CodeChecker checkers command. The catalog is cached for the
+     * binary, so only the first call runs the command.
+     * 
+     * @return The checker catalog, absent if the command failed.
+     */
+    public Optional<CheckerCatalog> getCheckerCatalog();
+
     /**
      * Returns the full and complete version string of the CodeChecker package. The
      * returned String will never be empty.
@@ -40,11 +51,12 @@ public interface ICodeChecker {
     public Path getLocation();
 
     /**
-     * Returns the analyze command to be run, without extra parameters.
+     * Returns the analyze command to be run, the arguments joined with spaces.
      * 
      * @param logFile
      *            A Path to the build log in the following format:
      *            http://clang.llvm.org/docs/JSONCompilationDatabase.html .
+     *            If null, placeholders are shown instead of the paths.
      * @param config
      *            The configuration being used.
      * @return The analyze command as String.
@@ -66,10 +78,50 @@ public interface ICodeChecker {
      *            How many analyze step to be taken.
      * @param config
      *            The configuration being used.
-     * @return CodeChecker The full analyze command output.
+     * @return CodeChecker The last lines of the analyze command output, the whole output is not kept.
      */
     public String analyze(Path logFile, boolean logToConsole, IProgressMonitor monitor, int taskCount,
             CcConfigurationBase config);
 
+    /**
+     * Same as {@link #analyze(Path, boolean, IProgressMonitor, int, CcConfigurationBase)}, with the given
+     * number of analyzer threads instead of the configured one.
+     * 
+     * @param logFile
+     *            A Path to the build log.
+     * @param logToConsole
+     *            Flag for indicating console logging.
+     * @param monitor
+     *            ProgressMonitor for to be able to increment progress bar.
+     * @param taskCount
+     *            How many analyze step to be taken.
+     * @param threads
+     *            The number of analyzer threads.
+     * @param config
+     *            The configuration being used.
+     * @return CodeChecker The last lines of the analyze command output, the whole output is not kept.
+     */
+    public String analyze(Path logFile, boolean logToConsole, IProgressMonitor monitor, int taskCount,
+            int threads, CcConfigurationBase config);
+
+    /**
+     * Executes CodeChecker analyze on a shard of the build log, on a process of its own, so the shards
+     * can be analyzed concurrently. {@link #cancelAnalyze()} stops every running shard.
+     * 
+     * @param logFile
+     *            A Path to the shard of the build log.
+     * @param resultsDirectory
+     *            The output directory of the shard.
+     * @param threads
+     *            The number of analyzer threads of the shard.
+     * @param output
+     *            Gets every line of the output, concurrently with the other shards.
+     * @param config
+     *            The configuration being used.
+     * @return True if the analysis was successful.
+     */
+    public boolean analyzeShard(Path logFile, Path resultsDirectory, int threads, Consumer<String> output,
+            CcConfigurationBase config);
+
     public void cancelAnalyze();
 }
@@ -0,0 +1,161 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Remembers the translation units of a project that were analyzed successfully, with the fingerprint of
+ * their sources at that time. A translation unit is identified by its compile command, so a changed
+ * command counts as a new translation unit. The units are only valid for the analyzer configuration
+ * they were analyzed with, every unit is analyzed again when it changes.
+ *
+ * The analysis time of the units is kept too, even for a different configuration, for planning the
+ * next analysis.
+ */
+public class AnalyzedUnits {
+
+    private String configuration = "";
+    private Map<String, String> units = new HashMap<>();
+    private Map<String, Long> durations = new HashMap<>();
+
+    /**
+     * Reads the saved units.
+     * @param file The file written by {@link #write(Path)}.
+     * @return The saved units, empty if the file doesn't exist.
+     * @throws IOException Thrown when the file can't be read or parsed.
+     */
+    public static AnalyzedUnits read(Path file) throws IOException {
+        if (!Files.exists(file))
+            return new AnalyzedUnits();
+        AnalyzedUnits saved;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            saved = new Gson().fromJson(reader, AnalyzedUnits.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid analyzed units file " + file + ": " + e.getMessage(), e);
+        }
+        if (saved == null || saved.units == null || saved.configuration == null)
+            return new AnalyzedUnits();
+        if (saved.durations == null)
+            saved.durations = new HashMap<>();
+        return saved;
+    }
+
+    /**
+     * @param file The file to be written, overwritten if exists.
+     * @throws IOException Thrown when the file can't be written.
+     */
+    public void write(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new Gson().toJson(this, writer);
+        }
+    }
+
+    /**
+     * Forgets every unit, if they were analyzed with a different configuration.
+     * @param current Describes the current analyzer configuration.
+     */
+    public void setConfiguration(String current) {
+        if (!configuration.equals(current))
+            units.clear();
+        configuration = current;
+    }
+
+    /**
+     * Forgets every unit.
+     */
+    public void clear() {
+        units.clear();
+    }
+
+    /**
+     * @return The number of remembered units.
+     */
+    public int size() {
+        return units.size();
+    }
+
+    /**
+     * Selects the translation units that are new, or whose sources changed since their last analysis.
+     * @param commands The current compile commands.
+     * @param fingerprinter Computes the fingerprints of the sources.
+     * @return The commands to be analyzed, with the current fingerprint of their sources, in the order
+     *         of the commands.
+     */
+    public Map<CompileCommand, String> getChanged(Collection<CompileCommand> commands,
+            SourceFingerprinter fingerprinter) {
+        Map<CompileCommand, String> changed = new LinkedHashMap<>();
+        for (CompileCommand command : commands) {
+            String fingerprint;
+            try {
+                fingerprint = fingerprinter.fingerprint(command);
+            } catch (IOException e) {
+                // Left to the analyzer to report, it's analyzed until it can be read.
+                fingerprint = "";
+            }
+            if (fingerprint.isEmpty() || !fingerprint.equals(units.get(command.getKey())))
+                changed.put(command, fingerprint);
+        }
+        return changed;
+    }
+
+    /**
+     * Records a successful analysis. The units that are no longer compiled are forgotten.
+     * @param commands The current compile commands.
+     * @param analyzed The analyzed commands, with the fingerprint of their sources.
+     */
+    public void update(Collection<CompileCommand> commands, Map<CompileCommand, String> analyzed) {
+        Set<String> current = new HashSet<>();
+        for (CompileCommand command : commands)
+            current.add(command.getKey());
+        units.keySet().retainAll(current);
+        durations.keySet().retainAll(current);
+        for (Map.Entry<CompileCommand, String> unit : analyzed.entrySet()) {
+            if (!unit.getValue().isEmpty())
+                units.put(unit.getKey().getKey(), unit.getValue());
+        }
+    }
+
+    /**
+     * Records the analysis time of the units.
+     * @param analyzed The analyzed units, with their analysis time in milliseconds.
+     */
+    public void updateDurations(Map<CompileCommand, Long> analyzed) {
+        for (Map.Entry<CompileCommand, Long> unit : analyzed.entrySet())
+            durations.put(unit.getKey().getKey(), unit.getValue());
+    }
+
+    /**
+     * @param commands The translation units to be analyzed.
+     * @return The expected analysis time of every unit in milliseconds: the last one, or for a unit not
+     *         analyzed yet, the average of the known ones (1 if none is known).
+     */
+    public Map<CompileCommand, Long> getExpectedDurations(Collection<CompileCommand> commands) {
+        Map<CompileCommand, Long> expected = new HashMap<>();
+        long sum = 0;
+        for (CompileCommand command : commands) {
+            Long duration = durations.get(command.getKey());
+            if (duration != null) {
+                expected.put(command, Math.max(1, duration));
+                sum += Math.max(1, duration);
+            }
+        }
+        long average = expected.isEmpty() ? 1 : sum / expected.size();
+        for (CompileCommand command : commands)
+            if (!expected.containsKey(command))
+                expected.put(command, average);
+        return expected;
+    }
+}
@@ -0,0 +1,169 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+/**
+ * A normalized JSON compilation database. The log written by the ld logger grows with every build, the
+ * same translation unit is logged again every time it is compiled. When read, the log is streamed entry
+ * by entry, and only the last occurrence of the same compilation (same working directory, source file
+ * and arguments) is kept.
+ */
+public final class CompilationDatabase {
+
+    private static final Type LIST_TYPE = new TypeToken<List<CompileCommand>>() {
+    }.getType();
+
+    private final ImmutableList<CompileCommand> commands;
+    private final int loggedCount;
+    private final boolean truncated;
+
+    /**
+     * @param commands The unique entries.
+     * @param loggedCount The number of entries in the log.
+     * @param truncated Whether the end of the log couldn't be read.
+     */
+    private CompilationDatabase(ImmutableList<CompileCommand> commands, int loggedCount, boolean truncated) {
+        this.commands = commands;
+        this.loggedCount = loggedCount;
+        this.truncated = truncated;
+    }
+
+    /**
+     * Reads the entries of a compilation database. An entry that is logged several times is returned
+     * once, at the place of its last occurrence. If the log ends in the middle of an entry (it is
+     * being written), the complete entries before it are kept.
+     * @param database The compilation database.
+     * @return The normalized database.
+     * @throws IOException Thrown when the file can't be read or it is not a compilation database.
+     */
+    public static CompilationDatabase read(Path database) throws IOException {
+        Map<String, CompileCommand> unique = new LinkedHashMap<>();
+        int logged = 0;
+        boolean truncated = false;
+        if (Files.size(database) == 0)
+            return new CompilationDatabase(ImmutableList.<CompileCommand>of(), 0, false);
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(database, StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                CompileCommand command = readCommand(reader);
+                ++logged;
+                if (command.getFile() == null)
+                    continue;
+                // Moved to the place of the last occurrence.
+                unique.remove(command.getKey());
+                unique.put(command.getKey(), command);
+            }
+            reader.endArray();
+        } catch (EOFException | MalformedJsonException e) {
+            if (logged == 0)
+                throw new IOException("Invalid compilation database " + database + ": " + e.getMessage(), e);
+            truncated = true;
+        } catch (IllegalStateException e) {
+            throw new IOException("Invalid compilation database " + database + ": " + e.getMessage(), e);
+        }
+        return new CompilationDatabase(ImmutableList.copyOf(unique.values()), logged, truncated);
+    }
+
+    /**
+     * @param reader Reads the log, positioned before an entry.
+     * @return The entry.
+     * @throws IOException Thrown when the entry can't be read.
+     */
+    private static CompileCommand readCommand(JsonReader reader) throws IOException {
+        String directory = null;
+        String command = null;
+        List<String> arguments = null;
+        String file = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "directory":
+                    directory = reader.nextString();
+                    break;
+                case "command":
+                    command = reader.nextString();
+                    break;
+                case "file":
+                    file = reader.nextString();
+                    break;
+                case "arguments":
+                    arguments = new ArrayList<>();
+                    reader.beginArray();
+                    while (reader.hasNext())
+                        arguments.add(reader.nextString());
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return new CompileCommand(directory, command, arguments, file);
+    }
+
+    /**
+     * Writes a compilation database, without any formatting.
+     * @param database The file to be written, overwritten if exists.
+     * @param commands The entries.
+     * @throws IOException Thrown when the file can't be written.
+     */
+    public static void write(Path database, Collection<CompileCommand> commands) throws IOException {
+        Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+        try (Writer writer = Files.newBufferedWriter(database, StandardCharsets.UTF_8)) {
+            gson.toJson(new ArrayList<>(commands), LIST_TYPE, writer);
+        }
+    }
+
+    /**
+     * @return The unique entries, in the order of their last occurrence.
+     */
+    public ImmutableList<CompileCommand> getCommands() {
+        return commands;
+    }
+
+    /**
+     * @return The number of translation units to be analyzed.
+     */
+    public int size() {
+        return commands.size();
+    }
+
+    /**
+     * @return The number of entries in the log, including the duplicates.
+     */
+    public int getLoggedCount() {
+        return loggedCount;
+    }
+
+    /**
+     * @return Whether the log ended in the middle of an entry.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,96 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.apache.commons.lang3.text.StrMatcher;
+import org.apache.commons.lang3.text.StrTokenizer;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * An entry of a JSON compilation database, as written by the ld logger: the working directory, the
+ * compiler invocation and the compiled source file. The invocation is either a single command line, or
+ * a list of arguments.
+ */
+public class CompileCommand {
+
+    private String directory;
+    private String command;
+    private List<String> arguments;
+    private String file;
+    // Computed once, it's needed for every lookup.
+    private transient String key;
+
+    /**
+     * @param directory The working directory of the compilation.
+     * @param command The compiler invocation.
+     * @param file The compiled source file, absolute or relative to the directory.
+     */
+    public CompileCommand(String directory, String command, String file) {
+        this(directory, command, null, file);
+    }
+
+    /**
+     * @param directory The working directory of the compilation.
+     * @param command The compiler invocation as a command line, null if given as arguments.
+     * @param arguments The compiler invocation as arguments, null if given as a command line.
+     * @param file The compiled source file, absolute or relative to the directory.
+     */
+    public CompileCommand(String directory, String command, List<String> arguments, String file) {
+        this.directory = directory;
+        this.command = command;
+        this.arguments = arguments;
+        this.file = file;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * @return The compiler invocation as a single command line.
+     */
+    public String getCommand() {
+        if (command == null)
+            return arguments == null ? "" : Joiner.on(' ').join(arguments);
+        return command;
+    }
+
+    /**
+     * @return The arguments of the compiler invocation, the command line is split like a shell would do.
+     */
+    public List<String> getArguments() {
+        if (arguments == null)
+            return new StrTokenizer(getCommand(), StrMatcher.splitMatcher(), StrMatcher.quoteMatcher())
+                    .getTokenList();
+        return ImmutableList.copyOf(arguments);
+    }
+
+    /**
+     * @return The absolute path of the compiled source file.
+     */
+    public Path getSourcePath() {
+        return Paths.get(directory == null ? "" : directory).resolve(file).toAbsolutePath().normalize();
+    }
+
+    /**
+     * @return Identifies the translation unit, entries with the same key compile the same source the
+     *         same way. The paths are normalized, and the invocation is compared argument by argument,
+     *         so the spacing of the command line, or logging it as arguments doesn't matter.
+     */
+    public String getKey() {
+        if (key == null) {
+            String workingDirectory = directory == null ? ""
+                    : Paths.get(directory).toAbsolutePath().normalize().toString();
+            key = workingDirectory + '\n' + getSourcePath() + '\n' + Joiner.on('\0').join(getArguments());
+        }
+        return key;
+    }
+}
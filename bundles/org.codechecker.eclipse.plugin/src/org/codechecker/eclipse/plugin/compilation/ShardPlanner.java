@@ -0,0 +1,129 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Splits the translation units of an analysis into shards of about the same analysis time, so the
+ * shards analyzed concurrently finish at about the same time. The longest units are placed first, each
+ * into the shard with the least work so far.
+ */
+public final class ShardPlanner {
+
+    /**
+     * Not called.
+     */
+    private ShardPlanner() {}
+
+    /**
+     * @param commands The translation units to be analyzed.
+     * @param shardCount The maximal number of shards.
+     * @param durations The expected analysis time of every unit.
+     * @return The non empty shards, longest first.
+     */
+    public static List<List<CompileCommand>> split(List<CompileCommand> commands, int shardCount,
+            final Map<CompileCommand, Long> durations) {
+        int count = Math.max(1, Math.min(shardCount, commands.size()));
+        List<CompileCommand> sorted = new ArrayList<>(commands);
+        Collections.sort(sorted, new Comparator<CompileCommand>() {
+            @Override
+            public int compare(CompileCommand a, CompileCommand b) {
+                return Long.compare(getDuration(durations, b), getDuration(durations, a));
+            }
+        });
+
+        PriorityQueue<Shard> shards = new PriorityQueue<>(count);
+        for (int i = 0; i < count; ++i)
+            shards.add(new Shard(i));
+        for (CompileCommand command : sorted) {
+            Shard shard = shards.poll();
+            shard.commands.add(command);
+            shard.duration += getDuration(durations, command);
+            shards.add(shard);
+        }
+
+        List<Shard> result = new ArrayList<>(shards);
+        Collections.sort(result, new Comparator<Shard>() {
+            @Override
+            public int compare(Shard a, Shard b) {
+                return Long.compare(b.duration, a.duration);
+            }
+        });
+        List<List<CompileCommand>> split = new ArrayList<>(count);
+        for (Shard shard : result)
+            if (!shard.commands.isEmpty())
+                split.add(shard.commands);
+        return split;
+    }
+
+    /**
+     * Selects the translation units of the given files, so they can be analyzed before the others. A
+     * unit belongs to a file if it compiles it, or it includes it.
+     * @param commands The translation units to be analyzed.
+     * @param files The files in the order of their priority.
+     * @param fingerprinter The fingerprinter of the commands, it knows their sources.
+     * @return The units of the files, in the order of the files.
+     */
+    public static List<CompileCommand> getPrioritized(Collection<CompileCommand> commands, List<Path> files,
+            SourceFingerprinter fingerprinter) {
+        Set<CompileCommand> prioritized = new LinkedHashSet<>();
+        for (Path file : files)
+            for (CompileCommand command : commands)
+                if (fingerprinter.getSources(command).contains(file) || command.getSourcePath().equals(file))
+                    prioritized.add(command);
+        return new ArrayList<>(prioritized);
+    }
+
+    /**
+     * Divides the analyzer threads between the shards, every shard gets at least one.
+     * @param threads The number of threads of the analysis.
+     * @param shardCount The number of shards.
+     * @return The number of threads of every shard.
+     */
+    public static int[] splitThreads(int threads, int shardCount) {
+        int[] split = new int[shardCount];
+        for (int i = 0; i < shardCount; ++i)
+            split[i] = Math.max(1, threads / shardCount + (i < threads % shardCount ? 1 : 0));
+        return split;
+    }
+
+    /**
+     * @param durations The expected analysis times.
+     * @param command A translation unit.
+     * @return The expected analysis time of the unit, 1 if unknown.
+     */
+    private static long getDuration(Map<CompileCommand, Long> durations, CompileCommand command) {
+        Long duration = durations.get(command);
+        return duration == null ? 1 : duration;
+    }
+
+    /**
+     * A shard being filled.
+     */
+    private static class Shard implements Comparable<Shard> {
+        private final int index;
+        private final List<CompileCommand> commands = new ArrayList<>();
+        private long duration;
+
+        /**
+         * @param index Decides between the shards of the same duration.
+         */
+        Shard(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(Shard other) {
+            int result = Long.compare(duration, other.duration);
+            return result != 0 ? result : Integer.compare(index, other.index);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Computes a fingerprint of the sources of a translation unit: the compiled file, and the headers it
+ * includes, as far as they can be found in the directory of the including file, or in the include
+ * directories of the compile command. Headers that can't be found (usually the ones of the system) are
+ * not part of the fingerprint.
+ *
+ * The content of every file is read only once by an instance, so the headers shared by the translation
+ * units of a project are not read again for each of them. Not thread safe.
+ */
+public class SourceFingerprinter {
+
+    private static final Pattern INCLUDE = Pattern.compile("^\\s*#\\s*(?:include|import)\\s*([<\"])([^>\"]+)[>\"]");
+    private static final String QUOTE_OPTION = "-iquote";
+    private static final List<String> DIRECTORY_OPTIONS = ImmutableList.of("-I", "-isystem", "-idirafter");
+
+    private final Map<Path, SourceFile> files = new HashMap<>();
+    private final Map<String, ImmutableSet<Path>> foundSources = new HashMap<>();
+
+    /**
+     * @param command The compile command of the translation unit.
+     * @return The fingerprint of the sources of the translation unit.
+     * @throws IOException Thrown when the compiled file can't be read.
+     */
+    public String fingerprint(CompileCommand command) throws IOException {
+        Path directory = Paths.get(command.getDirectory() == null ? "" : command.getDirectory());
+        List<Path> quoteDirectories = new ArrayList<>();
+        List<Path> includeDirectories = new ArrayList<>();
+        List<String> arguments = command.getArguments();
+        for (int i = 0; i < arguments.size(); ++i) {
+            String argument = arguments.get(i);
+            String option = getDirectoryOption(argument);
+            if (option == null)
+                continue;
+            String value = argument.substring(option.length());
+            if (value.isEmpty() && i + 1 < arguments.size())
+                value = arguments.get(++i);
+            if (value.isEmpty())
+                continue;
+            try {
+                Path include = directory.resolve(value).toAbsolutePath().normalize();
+                (QUOTE_OPTION.equals(option) ? quoteDirectories : includeDirectories).add(include);
+            } catch (InvalidPathException e) {
+                // Not a directory that could be searched.
+            }
+        }
+        quoteDirectories.addAll(includeDirectories);
+
+        // Sorted, so the fingerprint doesn't depend on the order the headers were found.
+        Map<Path, HashCode> sources = new TreeMap<>();
+        Deque<Path> pending = new ArrayDeque<>();
+        Path main = command.getSourcePath();
+        sources.put(main, read(main).hash);
+        pending.add(main);
+        while (!pending.isEmpty()) {
+            Path current = pending.removeFirst();
+            for (Include include : files.get(current).includes) {
+                Path header = resolve(include, current.getParent(), quoteDirectories, includeDirectories);
+                if (header == null || sources.containsKey(header))
+                    continue;
+                SourceFile source;
+                try {
+                    source = read(header);
+                } catch (IOException e) {
+                    continue;
+                }
+                sources.put(header, source.hash);
+                pending.addLast(header);
+            }
+        }
+
+        foundSources.put(command.getKey(), ImmutableSet.copyOf(sources.keySet()));
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Map.Entry<Path, HashCode> source : sources.entrySet()) {
+            hasher.putString(source.getKey().toString(), StandardCharsets.UTF_8);
+            hasher.putBytes(source.getValue().asBytes());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * @param command A compile command fingerprinted by this instance.
+     * @return The compiled file and the headers found, empty if the command wasn't fingerprinted.
+     */
+    public ImmutableSet<Path> getSources(CompileCommand command) {
+        ImmutableSet<Path> found = foundSources.get(command.getKey());
+        return found == null ? ImmutableSet.<Path>of() : found;
+    }
+
+    /**
+     * @param argument An argument of a compile command.
+     * @return The include directory option the argument starts with, null if none.
+     */
+    private static String getDirectoryOption(String argument) {
+        if (argument.startsWith(QUOTE_OPTION))
+            return QUOTE_OPTION;
+        for (String option : DIRECTORY_OPTIONS)
+            if (argument.startsWith(option))
+                return option;
+        return null;
+    }
+
+    /**
+     * @param include The included header.
+     * @param current The directory of the including file.
+     * @param quoteDirectories The directories searched for a quoted include.
+     * @param includeDirectories The directories searched for an include with angle brackets.
+     * @return The included file, null if not found.
+     */
+    private static Path resolve(Include include, Path current, List<Path> quoteDirectories,
+            List<Path> includeDirectories) {
+        List<Path> candidates = new ArrayList<>();
+        if (include.quoted) {
+            candidates.add(current);
+            candidates.addAll(quoteDirectories);
+        } else {
+            candidates.addAll(includeDirectories);
+        }
+        for (Path candidate : candidates) {
+            try {
+                Path header = candidate.resolve(include.name).normalize();
+                if (Files.isRegularFile(header))
+                    return header;
+            } catch (InvalidPathException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param path A source file.
+     * @return The hash and includes of the file, read once.
+     * @throws IOException Thrown when the file can't be read.
+     */
+    private SourceFile read(Path path) throws IOException {
+        SourceFile source = files.get(path);
+        if (source != null)
+            return source;
+        byte[] content = Files.readAllBytes(path);
+        ImmutableList.Builder<Include> includes = ImmutableList.builder();
+        // Only the include directives are needed, they are ASCII in any sensible encoding.
+        for (String line : new String(content, StandardCharsets.ISO_8859_1).split("\n")) {
+            Matcher matcher = INCLUDE.matcher(line);
+            if (matcher.find())
+                includes.add(new Include(matcher.group(1).equals("\""), matcher.group(2)));
+        }
+        source = new SourceFile(Hashing.murmur3_128().hashBytes(content), includes.build());
+        files.put(path, source);
+        return source;
+    }
+
+    /**
+     * The content hash and the include directives of a file.
+     */
+    private static class SourceFile {
+        private final HashCode hash;
+        private final ImmutableList<Include> includes;
+
+        /**
+         * @param hash The hash of the content.
+         * @param includes The include directives.
+         */
+        SourceFile(HashCode hash, ImmutableList<Include> includes) {
+            this.hash = hash;
+            this.includes = includes;
+        }
+    }
+
+    /**
+     * An include directive.
+     */
+    private static class Include {
+        private final boolean quoted;
+        private final String name;
+
+        /**
+         * @param quoted True for quotes, false for angle brackets.
+         * @param name The included name.
+         */
+        Include(boolean quoted, String name) {
+            this.quoted = quoted;
+            this.name = name;
+        }
+    }
+}
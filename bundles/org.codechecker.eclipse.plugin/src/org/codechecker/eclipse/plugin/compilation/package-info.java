@@ -0,0 +1,4 @@
+/**
+ * Compilation database related classes.
+ */
+package org.codechecker.eclipse.plugin.compilation;
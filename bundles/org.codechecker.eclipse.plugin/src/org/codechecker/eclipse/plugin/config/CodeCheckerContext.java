@@ -1,21 +1,27 @@
 package org.codechecker.eclipse.plugin.config;
 
-import java.util.HashMap;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.codechecker.eclipse.plugin.CodeCheckerNature;
 import org.codechecker.eclipse.plugin.Logger;
+import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
 import org.codechecker.eclipse.plugin.config.project.CodeCheckerProject;
 import org.codechecker.eclipse.plugin.report.ReportParser;
 import org.codechecker.eclipse.plugin.report.SearchList;
+import org.codechecker.eclipse.plugin.report.job.ReportFilterJob;
 import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
 import org.codechecker.eclipse.plugin.views.report.list.ReportListViewCustom;
-import org.codechecker.eclipse.plugin.views.report.list.ReportListViewListener;
 import org.codechecker.eclipse.plugin.views.report.list.ReportListViewProject;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IFileEditorInput;
@@ -23,6 +29,9 @@ import org.eclipse.ui.IViewReference;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 /**
  * The Class CodeCheckerContext.
  */
@@ -36,12 +45,17 @@ public class CodeCheckerContext {
     /** The active editor part. */
     IEditorPart activeEditorPart;
 
+    /** The files open in editors, and the active one, read by the analysis jobs. */
+    private final Set<Path> editorFiles = ConcurrentHashMap.newKeySet();
+    private volatile Path activeEditorFile;
+
     /** The active project. */
     private IProject activeProject;
 
-    private Map<IProject, SearchList> reports = new HashMap<>();
-    
-    private final Map<IProject, CodeCheckerProject> projects = new HashMap<>();
+    // Written by the parse jobs and the results watchers, read by the views and the filter jobs.
+    private final Map<IProject, SearchList> reports = new ConcurrentHashMap<>();
+
+    private final Map<IProject, CodeCheckerProject> projects = new ConcurrentHashMap<>();
 
     /**
      * Class constructor.
@@ -61,7 +75,7 @@ public class CodeCheckerContext {
      * @return The project identified by project.
      */
     public CodeCheckerProject getCcProject(IProject project) {
-        return projects.get(project);
+        return project == null ? null : projects.get(project);
     }
 
     /**
@@ -241,6 +255,55 @@ public class CodeCheckerContext {
         this.activeProject = project;
     }
 
+    /**
+     * @param partRef An editor that got opened.
+     */
+    public void editorOpened(IEditorPart partRef) {
+        Optional<Path> file = getEditorFile(partRef);
+        if (file.isPresent())
+            editorFiles.add(file.get());
+    }
+
+    /**
+     * @param partRef An editor that got closed.
+     */
+    public void editorClosed(IEditorPart partRef) {
+        Optional<Path> file = getEditorFile(partRef);
+        if (file.isPresent()) {
+            editorFiles.remove(file.get());
+            if (file.get().equals(activeEditorFile))
+                activeEditorFile = null;
+        }
+    }
+
+    /**
+     * Can be called from any thread.
+     * @return The files open in editors, the one of the active editor first.
+     */
+    public ImmutableList<Path> getEditorFiles() {
+        Path active = activeEditorFile;
+        ImmutableList.Builder<Path> files = ImmutableList.builder();
+        if (active != null)
+            files.add(active);
+        for (Path file : editorFiles)
+            if (!file.equals(active))
+                files.add(file);
+        return files.build();
+    }
+
+    /**
+     * @param partRef An editor.
+     * @return The location of the file edited, absent if it's not a file of the workspace.
+     */
+    private static Optional<Path> getEditorFile(IEditorPart partRef) {
+        if (!(partRef.getEditorInput() instanceof IFileEditorInput))
+            return Optional.absent();
+        IPath location = ((IFileEditorInput) partRef.getEditorInput()).getFile().getLocation();
+        if (location == null)
+            return Optional.absent();
+        return Optional.of(Paths.get(location.toOSString()).toAbsolutePath().normalize());
+    }
+
     /**
      * Refresh change editor part.
      *
@@ -252,6 +315,8 @@ public class CodeCheckerContext {
             //for files which are not part of the
             //current workspace
             activeEditorPart = partRef;
+            editorOpened(partRef);
+            activeEditorFile = getEditorFile(partRef).orNull();
             IFile file = ((IFileEditorInput) partRef.getEditorInput()).getFile();
             IProject project = file.getProject();
 
@@ -323,8 +388,8 @@ public class CodeCheckerContext {
     }
 
     /**
-     * Run report job.
-     * TODO refactor this to a report job.
+     * Run report job. The filtering runs in a {@link ReportFilterJob}, a filtering that is still running
+     * for the same view gets canceled.
      * @param target the target
      * @param currentFileName the run id
      */
@@ -346,9 +411,29 @@ public class CodeCheckerContext {
         Logger.log(IStatus.INFO, "Started Filtering Reports for project: "+project.getName());
 
         ReportParser parser = new ReportParser(reports.get(project), currentFileName);
-        // add listeners to it.
-        parser.addListener(new ReportListViewListener(target));
-        Display.getDefault().asyncExec(parser);
-        Logger.log(IStatus.INFO, "Finished Filtering Reports for project: "+project.getName());
+        parser.setBatchSize(getIntConfig(project, ConfigTypes.REPORT_BATCH_SIZE));
+        parser.setBatchWindow(getIntConfig(project, ConfigTypes.REPORT_BATCH_WINDOW));
+        // A filtering still running for the view is outdated by this one.
+        Job.getJobManager().cancel(target);
+        new ReportFilterJob(target, parser).schedule();
+        Logger.log(IStatus.INFO, "Scheduled Filtering Reports for project: "+project.getName());
+    }
+
+    /**
+     * Reads a numeric configuration value of the project.
+     * @param project The project in question.
+     * @param type The configuration key.
+     * @return The configured value, or the default one if the configuration is missing or invalid.
+     */
+    private int getIntConfig(IProject project, ConfigTypes type) {
+        CodeCheckerProject ccProject = projects.get(project);
+        String value = ccProject == null ? null : ccProject.getCurrentConfig().get(type);
+        try {
+            if (value != null)
+                return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            Logger.log(IStatus.WARNING, "Invalid value for " + type + ": " + value);
+        }
+        return Integer.parseInt(type.getDefaultValue());
     }
 }
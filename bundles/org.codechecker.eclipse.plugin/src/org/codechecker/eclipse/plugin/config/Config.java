@@ -26,11 +26,22 @@ public class Config {
         COMPILERS("gcc:g++:clang:clang++:c++:cc"),
         ANAL_THREADS("4"),
         ANAL_OPTIONS(""),
+        ANAL_SHARDS("1"),
+        ANAL_WINDOW("1000"),
+        ANAL_PRIORITY("true"),
+        ANAL_PIPELINE("true"),
+        ANAL_SLOTS("0"),
+        RESULTS_WATCH("true"),
+        RESULTS_SETTLE("500"),
+        PLIST_PARSER("STREAM"),
+        PLIST_THREADS("0"),
+        REPORT_BATCH_SIZE("500"),
+        REPORT_BATCH_WINDOW("100"),
         // Project configuration values
         IS_GLOBAL("true"),
         CHECKER_WORKSPACE("codechecker_workdir");
 
-        public static Set<ConfigTypes> COMMON_TYPE = EnumSet.range(CHECKER_PATH, ANAL_OPTIONS);
+        public static Set<ConfigTypes> COMMON_TYPE = EnumSet.range(CHECKER_PATH, REPORT_BATCH_WINDOW);
         public static Set<ConfigTypes> PROJECT_TYPE = EnumSet.range(IS_GLOBAL, CHECKER_WORKSPACE);
         private String defaultValue;
 
@@ -6,7 +6,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.codechecker.eclipse.plugin.CodeCheckerNature;
 import org.codechecker.eclipse.plugin.Logger;
@@ -16,6 +18,11 @@ import org.codechecker.eclipse.plugin.config.CcConfigurationBase.ConfigurationCh
 import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
 import org.codechecker.eclipse.plugin.config.EnvironmentVariables;
 import org.codechecker.eclipse.plugin.config.global.CcGlobalConfiguration;
+import org.codechecker.eclipse.plugin.report.PlistManifest;
+import org.codechecker.eclipse.plugin.report.ResultsWatcher;
+import org.codechecker.eclipse.plugin.report.StringPool;
+import org.codechecker.eclipse.plugin.report.job.AnalysisScheduler;
+import org.codechecker.eclipse.plugin.report.job.PlistParseJob;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.envvar.IContributedEnvironment;
 import org.eclipse.cdt.core.model.CoreModel;
@@ -36,6 +43,9 @@ import org.osgi.service.prefs.BackingStoreException;
  */
 public class CodeCheckerProject implements ConfigurationChangedListener {
     public static final String COMPILATION_COMMANDS = "compilation_commands.json.javarunner";
+    public static final String REPORT_SNAPSHOT = "reports.snapshot";
+    public static final String ANALYZED_UNITS = "analyzed_units.json";
+    public static final String RESULTS = "results";
 
     protected static final String STR_EMPTY = "";
 
@@ -58,11 +68,22 @@ public class CodeCheckerProject implements ConfigurationChangedListener {
     //TODO Reports logically belongs to the projects. should add them here from the CodeCheckerContext.
     //private Map<IProject, SearchList> reports = new HashMap<>();
 
+    // The already parsed plists of the project, so only the changed ones are parsed again.
+    private final PlistManifest plistManifest = new PlistManifest();
+    // Deduplicates the strings of the reports of the project.
+    private final StringPool stringPool = new StringPool();
+    // Coalesces the analysis requests of the builds in quick succession.
+    private final AnalysisScheduler analysisScheduler;
+    // Merges the plists written into the results directory by anyone, not only by the plugin.
+    private ResultsWatcher resultsWatcher;
+    private long resultsSettleTime;
+
     /**
      * @param project The project thats the new instance is related to.
      */
     public CodeCheckerProject(IProject project) {
         this.project = project;
+        analysisScheduler = new AnalysisScheduler(project);
         codeCheckerWorkspace = Paths.get(
                 ResourcesPlugin.getWorkspace().getRoot().getLocation().toString(), ".codechecker", project.getName());
 
@@ -82,6 +103,12 @@ public class CodeCheckerProject implements ConfigurationChangedListener {
      * Deregisters from the Configurations.
      */
     public void cleanUp() {
+        analysisScheduler.dispose();
+        synchronized (this) {
+            if (resultsWatcher != null)
+                resultsWatcher.close();
+            resultsWatcher = null;
+        }
         local.deRegisterChangeListener(this);
         getGlobal().deRegisterChangeListener(this);
     }
@@ -205,6 +232,95 @@ public class CodeCheckerProject implements ConfigurationChangedListener {
      */
     public IProject getRelatedProject() { return project; }
 
+    /**
+     * @return The manifest of the already parsed result plists.
+     */
+    public PlistManifest getPlistManifest() {
+        return plistManifest;
+    }
+
+    /**
+     * @return The scheduler of the analyses of the project.
+     */
+    public AnalysisScheduler getAnalysisScheduler() {
+        return analysisScheduler;
+    }
+
+    /**
+     * Starts or stops watching the results directory, as configured. A changed settle time restarts
+     * the watcher, and a watcher that stopped on its own is started again.
+     */
+    public synchronized void updateResultsWatcher() {
+        boolean watch = Boolean.parseBoolean(getConfig(ConfigTypes.RESULTS_WATCH));
+        long settleTime = getSettleTime();
+        if (resultsWatcher != null && (!watch || settleTime != resultsSettleTime || !resultsWatcher.isRunning())) {
+            resultsWatcher.close();
+            resultsWatcher = null;
+        }
+        if (!watch || resultsWatcher != null)
+            return;
+        ResultsWatcher watcher = createResultsWatcher();
+        try {
+            watcher.start();
+            resultsWatcher = watcher;
+            resultsSettleTime = settleTime;
+            Logger.log(IStatus.INFO, "Watching the results directory " + getResultsLocation());
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Couldn't watch the results directory " + getResultsLocation() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Whether the results directory is being watched, so the new plists are shown without a parse
+     *         job.
+     */
+    public synchronized boolean isWatchingResults() {
+        return resultsWatcher != null && resultsWatcher.isRunning();
+    }
+
+    /**
+     * @return A new, not started watcher, that merges the plists of the results directory into the reports
+     *         of the project.
+     */
+    public ResultsWatcher createResultsWatcher() {
+        return new ResultsWatcher(getResultsLocation(), getSettleTime(), new Consumer<List<File>>() {
+            @Override
+            public void accept(List<File> plists) {
+                PlistParseJob.parsePlists(project, plists);
+            }
+        });
+    }
+
+    /**
+     * @return The configured settle time of the results watcher, or the default one if invalid.
+     */
+    private long getSettleTime() {
+        String value = getConfig(ConfigTypes.RESULTS_SETTLE);
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            Logger.log(IStatus.WARNING, "Invalid results settle time: " + value);
+            return Long.parseLong(ConfigTypes.RESULTS_SETTLE.getDefaultValue());
+        }
+    }
+
+    /**
+     * @param type The configuration key.
+     * @return The value from the current configuration, or the default value if there is none.
+     */
+    private String getConfig(ConfigTypes type) {
+        String value = current.get(type);
+        return value == null ? type.getDefaultValue() : value;
+    }
+
+    /**
+     * @return The pool of the strings of the reports.
+     */
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+
     /**
      * Adds to build environment variables, to be able to log the compilation commands with lldb.
      * @param environmentAdd
@@ -241,6 +357,27 @@ public class CodeCheckerProject implements ConfigurationChangedListener {
                 COMPILATION_COMMANDS);
     }
 
+    /**
+     * @return The location of the saved reports of the project.
+     */
+    public Path getReportSnapshotLocation() {
+        return Paths.get(codeCheckerWorkspace.toString(), REPORT_SNAPSHOT);
+    }
+
+    /**
+     * @return The location of the translation units analyzed so far.
+     */
+    public Path getAnalyzedUnitsLocation() {
+        return Paths.get(codeCheckerWorkspace.toString(), ANALYZED_UNITS);
+    }
+
+    /**
+     * @return The results directory of the analysis.
+     */
+    public Path getResultsLocation() {
+        return Paths.get(codeCheckerWorkspace.toString(), RESULTS);
+    }
+
     /**
      * Return File location relative to project location.
      * @param projectRelativeFile The file in question.
@@ -294,6 +431,7 @@ public class CodeCheckerProject implements ConfigurationChangedListener {
         updateProjectRelated();
         setEnvironment();
         modifyProjectEnvironmentVariables();
+        updateResultsWatcher();
     }
 
     /**
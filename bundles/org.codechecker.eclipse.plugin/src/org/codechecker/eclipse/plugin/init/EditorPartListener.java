@@ -25,6 +25,8 @@ public class EditorPartListener implements IPartListener {
 
     @Override
     public void partClosed(IWorkbenchPart part) {
+        if (part instanceof IEditorPart)
+            CodeCheckerContext.getInstance().editorClosed((IEditorPart) part);
     }
 
     @Override
@@ -33,7 +35,8 @@ public class EditorPartListener implements IPartListener {
 
     @Override
     public void partOpened(IWorkbenchPart part) {
-
+        if (part instanceof IEditorPart)
+            CodeCheckerContext.getInstance().editorOpened((IEditorPart) part);
     }
 
 }
@@ -9,7 +9,6 @@ import org.codechecker.eclipse.plugin.Logger;
 import org.codechecker.eclipse.plugin.config.CodeCheckerContext;
 import org.codechecker.eclipse.plugin.config.global.CcGlobalConfiguration;
 import org.codechecker.eclipse.plugin.config.project.CodeCheckerProject;
-import org.codechecker.eclipse.plugin.report.job.AnalyzeJob;
 import org.codechecker.eclipse.plugin.report.job.JobDoneChangeListener;
 import org.codechecker.eclipse.plugin.report.job.PlistParseJob;
 import org.codechecker.eclipse.plugin.runtime.SLogger;
@@ -28,6 +27,8 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IPageLayout;
 import org.eclipse.ui.ISelectionService;
 import org.eclipse.ui.IWorkbench;
@@ -122,6 +123,8 @@ public class StartupJob extends Job {
         
         CodeCheckerProject cCProject = new CodeCheckerProject(project);
         CodeCheckerContext.getInstance().addCodeCheckerProject(cCProject);
+        // The plists written by the command line or a CI job are shown without a build.
+        cCProject.updateResultsWatcher();
 
         PlistParseJob plistParseJob = new PlistParseJob(project);
         plistParseJob.addJobChangeListener(new JobDoneChangeListener() {
@@ -141,6 +144,12 @@ public class StartupJob extends Job {
         ISelectionService ss = win.getSelectionService();
         ss.addPostSelectionListener(IPageLayout.ID_PROJECT_EXPLORER, projectExplorerSelectionlistener);
         win.getActivePage().addPartListener(partListener);
+        // The editors restored before the listener was added.
+        for (IEditorReference editor : win.getActivePage().getEditorReferences()) {
+            IEditorPart part = editor.getEditor(false);
+            if (part != null)
+                CodeCheckerContext.getInstance().editorOpened(part);
+        }
     }
 
     /**
@@ -245,24 +254,14 @@ public class StartupJob extends Job {
          * @param project The project that got built.
          */
         private void onProjectBuilt(final IProject project) {
-            // resources like IProject can act as ISchedulingRule,
-            // or in this case a mutex for  stopping the parse job
-            // running until the analisis finished.
-            // https://help.eclipse.org/neon/index.jsp?topic=%2Forg.eclipse.platform.doc.isv%2Fguide%2FresAdv_batching.htm
-            AnalyzeJob analyzeJob = new AnalyzeJob(project);
-            PlistParseJob plistParseJob = new PlistParseJob(project);
-            analyzeJob.setRule(project);
-            plistParseJob.setRule(project);
-            plistParseJob.addJobChangeListener(new JobDoneChangeListener() {
-                
-                @Override
-                public void done(IJobChangeEvent event) {
-                    CodeCheckerContext.getInstance().refresAsync(project);
-                }
-            });
-    
-            analyzeJob.schedule();
-            plistParseJob.schedule();
+            // Several builds in a row are analyzed once, the analysis and the parse job are kept apart
+            // by using the project as their scheduling rule.
+            CodeCheckerProject ccProject = CodeCheckerContext.getInstance().getCcProject(project);
+            if (ccProject == null) {
+                Logger.log(IStatus.WARNING, "Project " + project.getName() + " is not managed by CodeChecker.");
+                return;
+            }
+            ccProject.getAnalysisScheduler().requestAnalysis();
         }
 
         /**
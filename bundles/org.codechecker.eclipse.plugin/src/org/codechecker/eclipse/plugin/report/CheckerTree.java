@@ -0,0 +1,168 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The hierarchy of the checkers of a {@link SearchList}, by the dot separated parts of their names
+ * (alpha.core.CallAndMessage is under alpha.core, which is under alpha). Built once for a list, so the
+ * tree views don't have to split the checker names every time a node is expanded.
+ */
+public final class CheckerTree {
+
+    private static final String SEPARATOR = ".";
+
+    private final ImmutableList<String> roots;
+    private final ImmutableMap<String, Node> nodes;
+
+    /**
+     * @param roots The names of the top level nodes.
+     * @param nodes Every node by its name.
+     */
+    private CheckerTree(ImmutableList<String> roots, ImmutableMap<String, Node> nodes) {
+        this.roots = roots;
+        this.nodes = nodes;
+    }
+
+    /**
+     * Builds the hierarchy of the checkers in the list.
+     * @param list The reports.
+     * @return The hierarchy.
+     */
+    public static CheckerTree build(SearchList list) {
+        // The names sorted, so the children end up sorted too.
+        Map<String, Builder> builders = new TreeMap<>();
+        TreeSet<String> roots = new TreeSet<>();
+        for (String checker : list.getCheckers()) {
+            int count = list.getReportCount(checker);
+            String child = null;
+            int end = checker.length();
+            // From the checker towards the root, every prefix gets the reports counted.
+            while (true) {
+                String name = checker.substring(0, end);
+                Builder builder = builders.get(name);
+                if (builder == null) {
+                    builder = new Builder();
+                    builders.put(name, builder);
+                }
+                builder.count += count;
+                if (child == null)
+                    builder.reports = count;
+                else
+                    builder.children.add(child);
+                child = name;
+                end = checker.lastIndexOf(SEPARATOR, end - 1);
+                if (end <= 0)
+                    break;
+            }
+            roots.add(child);
+        }
+
+        ImmutableMap.Builder<String, Node> nodes = ImmutableMap.builder();
+        for (Map.Entry<String, Builder> entry : builders.entrySet()) {
+            String name = entry.getKey();
+            int end = name.lastIndexOf(SEPARATOR);
+            Optional<String> parent = end > 0 && builders.containsKey(name.substring(0, end))
+                    ? Optional.of(name.substring(0, end)) : Optional.<String>absent();
+            Builder builder = entry.getValue();
+            nodes.put(name, new Node(parent, ImmutableList.copyOf(builder.children), builder.reports,
+                    builder.count));
+        }
+        return new CheckerTree(ImmutableList.copyOf(roots), nodes.build());
+    }
+
+    /**
+     * @return The names of the top level nodes, sorted.
+     */
+    public ImmutableList<String> getRoots() {
+        return roots;
+    }
+
+    /**
+     * @param name A checker, or a part of the hierarchy.
+     * @return The node, absent if there is no such name in the tree.
+     */
+    public Optional<Node> getNode(String name) {
+        return Optional.fromNullable(nodes.get(name));
+    }
+
+    /**
+     * @param name A checker, or a part of the hierarchy.
+     * @return The names of the nodes directly under it, sorted.
+     */
+    public ImmutableList<String> getChildren(String name) {
+        Node node = nodes.get(name);
+        return node == null ? ImmutableList.<String>of() : node.getChildren();
+    }
+
+    /**
+     * @param name A checker, or a part of the hierarchy.
+     * @return The name of the node above it, absent for the top level.
+     */
+    public Optional<String> getParent(String name) {
+        Node node = nodes.get(name);
+        return node == null ? Optional.<String>absent() : node.getParent();
+    }
+
+    /**
+     * @param name A checker, or a part of the hierarchy.
+     * @return The number of reports of every checker under it, including itself.
+     */
+    public int getReportCount(String name) {
+        Node node = nodes.get(name);
+        return node == null ? 0 : node.getReportCount();
+    }
+
+    /**
+     * A checker, or a part of the hierarchy, that is not a checker on its own.
+     */
+    public static final class Node {
+        private final Optional<String> parent;
+        private final ImmutableList<String> children;
+        private final int ownReportCount;
+        private final int reportCount;
+
+        /**
+         * @param parent The name of the node above, absent for the top level.
+         * @param children The names of the nodes directly under this.
+         * @param ownReportCount The reports of the checker with exactly this name.
+         * @param reportCount The reports under this node, including its own.
+         */
+        Node(Optional<String> parent, ImmutableList<String> children, int ownReportCount, int reportCount) {
+            this.parent = parent;
+            this.children = children;
+            this.ownReportCount = ownReportCount;
+            this.reportCount = reportCount;
+        }
+
+        public Optional<String> getParent() {
+            return parent;
+        }
+
+        public ImmutableList<String> getChildren() {
+            return children;
+        }
+
+        public int getOwnReportCount() {
+            return ownReportCount;
+        }
+
+        public int getReportCount() {
+            return reportCount;
+        }
+    }
+
+    /**
+     * Collects the data of a node while the tree is built.
+     */
+    private static final class Builder {
+        private final TreeSet<String> children = new TreeSet<>();
+        private int reports;
+        private int count;
+    }
+}
@@ -0,0 +1,208 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+/**
+ * Remembers the parsed reports of every plist in a results directory, together with the modification
+ * time, size and content hash of the file they were parsed from. This way only the new and changed
+ * plists have to be parsed again after an analysis.
+ *
+ * The manifest keeps the {@link SearchList} of its entries up to date: storing or evicting an entry
+ * removes and adds the reports of that plist only, so the cost of a refresh grows with the number of the
+ * changed plists, not with the number of all reports.
+ *
+ * The reads and writes of the entries are synchronized, {@link #refresh(File, Function)} doesn't
+ * touch the manifest, so it can be called from several threads. A whole refresh of the manifest is
+ * serialized with {@link #getUpdateLock()}, not with the monitor of the manifest, because the parser
+ * threads read the entries while the refresh waits for them.
+ */
+public class PlistManifest {
+
+    // Sorted by path, so the merge order of the reports is stable.
+    private final Map<File, Entry> entries = new TreeMap<>();
+    // Changes whenever an entry is stored or evicted.
+    private long generation;
+    // The reports of every entry, updated in place.
+    private final SearchList searchList = new SearchList();
+    // Held for the whole refresh of the manifest.
+    private final Object updateLock = new Object();
+
+    /**
+     * Drops the entries of the plists that are no longer present.
+     * @param plists The plists currently in the results directory.
+     * @return The number of evicted entries.
+     */
+    public synchronized int retain(Collection<File> plists) {
+        Set<File> present = new HashSet<>(plists);
+        int evicted = 0;
+        for (Iterator<Map.Entry<File, Entry>> it = entries.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<File, Entry> entry = it.next();
+            if (!present.contains(entry.getKey())) {
+                searchList.removeReports(entry.getValue().reports);
+                it.remove();
+                ++evicted;
+            }
+        }
+        if (evicted > 0)
+            ++generation;
+        return evicted;
+    }
+
+    /**
+     * @param plists The plists currently in the results directory.
+     * @return The plists that are new, or whose modification time or size differs from the recorded one.
+     */
+    public synchronized List<File> getChanged(Collection<File> plists) {
+        List<File> changed = new ArrayList<>();
+        for (File plist : plists) {
+            Entry entry = entries.get(plist);
+            if (entry == null || entry.lastModified != plist.lastModified() || entry.size != plist.length())
+                changed.add(plist);
+        }
+        return changed;
+    }
+
+    /**
+     * Creates an up to date entry for a plist. If only the modification time changed, but the content is
+     * the same, the recorded reports are reused, otherwise the file is parsed.
+     * @param plist The plist to be refreshed.
+     * @param parser Parses the plist if needed, returns null if the plist can't be parsed.
+     * @return The new entry, not yet stored in the manifest.
+     * @throws IOException Thrown when the file cannot be read or parsed, so no entry is stored for it.
+     */
+    public Entry refresh(File plist, Function<File, List<ReportInfo>> parser) throws IOException {
+        long lastModified = plist.lastModified();
+        long size = plist.length();
+        HashCode hash = Files.asByteSource(plist).hash(Hashing.murmur3_128());
+        Entry old;
+        synchronized (this) {
+            old = entries.get(plist);
+        }
+        if (old != null && old.hash.equals(hash))
+            return new Entry(lastModified, size, hash, old.reports);
+        List<ReportInfo> reports = parser.apply(plist);
+        if (reports == null)
+            throw new IOException("Cannot parse " + plist.getName());
+        return new Entry(lastModified, size, hash, ImmutableList.copyOf(reports));
+    }
+
+    /**
+     * Stores an entry.
+     * @param plist The plist the entry belongs to.
+     * @param entry The entry from {@link #refresh(File, Function)}.
+     */
+    public synchronized void put(File plist, Entry entry) {
+        Entry old = entries.put(plist, entry);
+        ++generation;
+        // The reports are reused when only the modification time changed.
+        if (old != null && old.reports == entry.reports)
+            return;
+        if (old != null)
+            searchList.removeReports(old.reports);
+        searchList.addReports(entry.reports);
+    }
+
+    /**
+     * Drops the entry of a plist.
+     * @param plist The removed plist.
+     * @return True if there was an entry.
+     */
+    public synchronized boolean remove(File plist) {
+        Entry old = entries.remove(plist);
+        if (old == null)
+            return false;
+        searchList.removeReports(old.reports);
+        ++generation;
+        return true;
+    }
+
+    /**
+     * @return A counter that changes whenever the content of the manifest changes.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return A copy of the entries, ordered by path.
+     */
+    public synchronized ImmutableMap<File, Entry> getEntries() {
+        return ImmutableMap.copyOf(entries);
+    }
+
+    /**
+     * @return The number of plists in the manifest.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The lock that serializes the refreshes of the manifest.
+     */
+    public Object getUpdateLock() {
+        return updateLock;
+    }
+
+    /**
+     * @return The reports of all plists in the manifest, the same list for the life of the manifest.
+     */
+    public SearchList getSearchList() {
+        return searchList;
+    }
+
+    /**
+     * The recorded state of one plist.
+     */
+    public static class Entry {
+        private final long lastModified;
+        private final long size;
+        private final HashCode hash;
+        private final ImmutableList<ReportInfo> reports;
+
+        /**
+         * @param lastModified Modification time of the plist in milliseconds.
+         * @param size Size of the plist in bytes.
+         * @param hash Hash of the content of the plist.
+         * @param reports The reports parsed from the plist.
+         */
+        public Entry(long lastModified, long size, HashCode hash, ImmutableList<ReportInfo> reports) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.hash = hash;
+            this.reports = reports;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public HashCode getHash() {
+            return hash;
+        }
+
+        public ImmutableList<ReportInfo> getReports() {
+            return reports;
+        }
+    }
+}
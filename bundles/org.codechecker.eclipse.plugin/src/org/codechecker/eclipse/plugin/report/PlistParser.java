@@ -5,9 +5,18 @@ import java.io.FilenameFilter;
 import java.io.IOException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
 import org.codechecker.eclipse.plugin.Logger;
 
@@ -26,6 +35,7 @@ import com.dd.plist.PropertyListParser;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
 
@@ -34,80 +44,178 @@ import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
  */
 public class PlistParser {
     IProject project;
+    private PlistParserTypes parserType = PlistParserTypes.STREAM;
+    private int parseThreads = 1;
+    private StringPool stringPool = new StringPool();
 
     public PlistParser(IProject project) {
         this.project = project;
     }
 
+    /**
+     * Selects the way the plist files are parsed.
+     * @param parserType The parser to be used, streaming by default.
+     */
+    public void setParserType(PlistParserTypes parserType) {
+        this.parserType = parserType;
+    }
+
+    /**
+     * Sets the number of threads used for parsing the results directory.
+     * @param parseThreads Number of parser threads, 1 parses on the calling thread, 0 or less uses one thread
+     *            per available processor.
+     */
+    public void setParseThreads(int parseThreads) {
+        this.parseThreads = parseThreads;
+    }
+
+    /**
+     * Sets the pool that deduplicates the strings of the parsed reports.
+     * @param stringPool The pool of the project, every parser has its own by default.
+     */
+    public void setStringPool(StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+
     /**
      * Parses exactly one .plist file.
      * @param pathToFile  The file to be parsed.
      */
     public SearchList parsePlist(File file, SearchList sl) {
-        List<ReportInfo> riList = new ArrayList<>();
-
-        NSDictionary dict;
-        try {
-            dict = (NSDictionary) PropertyListParser.parse(file);
-            NSObject[] sourceFiles = ((NSArray) dict.objectForKey("files")).getArray();
-            NSObject[] diagnostics = ((NSArray) dict.objectForKey("diagnostics")).getArray();
-
-            for (NSObject diagnostic : diagnostics) {
-                NSDictionary diag = (NSDictionary) diagnostic;
-                String checkerName = ((NSString) diag.get("check_name")).getContent();
-                String description = ((NSString) diag.get("description")).getContent();
-
-                NSObject[] path = ((NSArray) diag.objectForKey("path")).getArray();
-
-                List<BugPathItem> bugPathItemList = new ArrayList<>();
-
-                for (NSObject bp : path) {
-                    NSDictionary bugPath = (NSDictionary) bp;
-
-                    // We are only interested in bug events
-                    if (((NSString) bugPath.get("kind")).getContent().equals("event")) {
-                        String message = ((NSString) bugPath.get("message")).getContent();
-                        NSDictionary location = (NSDictionary) bugPath.get("location");
-                        Integer fileIndex = ((NSNumber) location.get("file")).intValue();
-                        Integer line = ((NSNumber) location.get("line")).intValue();
-                        Integer col = ((NSNumber) location.get("col")).intValue();
-                        String filePath = ((NSString) sourceFiles[fileIndex]).getContent();
-
-                        BugPathItem bItem = new BugPathItem(new Position(line, col), new Position(line, col), message,
-                                filePath);
-                        bugPathItemList.add(bItem);
-                    }
-                }
+        sl.addReports(ImmutableList.copyOf(parseReports(file)));
+        return sl;
+    }
 
-                ProblemInfo pInfo = new ProblemInfo(ImmutableList.copyOf(bugPathItemList));
+    /**
+     * Parses exactly one .plist file, without adding the results to any {@link SearchList}.
+     * Safe to be called concurrently.
+     * @param file The file to be parsed.
+     * @return The reports in the file, empty if the file couldn't be parsed.
+     */
+    public List<ReportInfo> parseReports(File file) {
+        List<ReportInfo> reports = tryParseReports(file);
+        return reports == null ? ImmutableList.<ReportInfo>of() : reports;
+    }
 
-                riList.add(new ReportInfo(checkerName, "testHash", Iterables.getLast(bugPathItemList).getFile(),
-                            description, 1, false, "testFile", Iterables.getLast(bugPathItemList), Optional.of(pInfo)));
+    /**
+     * Parses exactly one .plist file, without adding the results to any {@link SearchList}.
+     * Safe to be called concurrently.
+     * @param file The file to be parsed.
+     * @return The reports in the file, null if the file couldn't be parsed.
+     */
+    public List<ReportInfo> tryParseReports(File file) {
+        try {
+            switch (parserType) {
+                case DOM:
+                    return parseDocument(file);
+                case STREAM:
+                default:
+                    return parseStream(file);
             }
-
-            ImmutableList<ReportInfo> uriList = ImmutableList.copyOf(riList);
-            sl.addReports(uriList);
-
         } catch (ParserConfigurationException | ParseException | SAXException | PropertyListFormatException
-                | IOException e) {
+                | IOException | XMLStreamException e) {
             // TODO Auto-generated catch block
             Logger.log(IStatus.ERROR, "Cannot Parse File :" + e.getMessage() + " in file: " + file.getName());
             //e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Parses a plist file with {@link StreamingPlistParser}, without building the document tree.
+     * @param file The file to be parsed.
+     * @return The reports found in the file.
+     * @throws IOException Thrown when the file cannot be read.
+     * @throws XMLStreamException Thrown when the file is malformed.
+     */
+    private List<ReportInfo> parseStream(File file) throws IOException, XMLStreamException {
+        List<ReportInfo> riList = new ArrayList<>();
+        new StreamingPlistParser(stringPool).parse(file, riList::add);
+        return riList;
+    }
+
+    /**
+     * Parses a plist file by building the whole dd-plist document tree first.
+     * @param file The file to be parsed.
+     * @return The reports found in the file.
+     */
+    private List<ReportInfo> parseDocument(File file) throws ParserConfigurationException, ParseException,
+            SAXException, PropertyListFormatException, IOException {
+        List<ReportInfo> riList = new ArrayList<>();
+
+        NSDictionary dict = (NSDictionary) PropertyListParser.parse(file);
+        NSObject[] sourceFiles = ((NSArray) dict.objectForKey("files")).getArray();
+        NSObject[] diagnostics = ((NSArray) dict.objectForKey("diagnostics")).getArray();
+
+        for (NSObject diagnostic : diagnostics) {
+            NSDictionary diag = (NSDictionary) diagnostic;
+            String checkerName = stringPool.intern(((NSString) diag.get("check_name")).getContent());
+            String description = stringPool.intern(((NSString) diag.get("description")).getContent());
+
+            NSObject[] path = ((NSArray) diag.objectForKey("path")).getArray();
+
+            List<BugPathItem> bugPathItemList = new ArrayList<>();
+
+            for (NSObject bp : path) {
+                NSDictionary bugPath = (NSDictionary) bp;
+
+                // We are only interested in bug events
+                if (((NSString) bugPath.get("kind")).getContent().equals("event")) {
+                    String message = stringPool.intern(((NSString) bugPath.get("message")).getContent());
+                    NSDictionary location = (NSDictionary) bugPath.get("location");
+                    Integer fileIndex = ((NSNumber) location.get("file")).intValue();
+                    Integer line = ((NSNumber) location.get("line")).intValue();
+                    Integer col = ((NSNumber) location.get("col")).intValue();
+                    String filePath = stringPool.intern(((NSString) sourceFiles[fileIndex]).getContent());
+
+                    BugPathItem bItem = new BugPathItem(new Position(line, col), new Position(line, col), message,
+                            filePath);
+                    bugPathItemList.add(bItem);
                 }
+            }
 
-        return sl;
+            // A report ends in an event, the diagnostics without events are skipped.
+            if (!bugPathItemList.isEmpty())
+                riList.add(createReport(checkerName, description, bugPathItemList));
+        }
+        return riList;
+    }
+
+    /**
+     * Creates the report of one diagnostic, shared by the parser implementations.
+     * @param checkerName The checker that generated the report.
+     * @param description The checker message.
+     * @param bugPathItemList The events of the bug path, must not be empty.
+     * @return The report.
+     */
+    static ReportInfo createReport(String checkerName, String description, List<BugPathItem> bugPathItemList) {
+        ProblemInfo pInfo = new ProblemInfo(ImmutableList.copyOf(bugPathItemList));
+        BugPathItem last = Iterables.getLast(bugPathItemList);
+        return new ReportInfo(checkerName, "testHash", last.getFile(), description, 1, false, "testFile", last,
+                Optional.of(pInfo));
     }
 
     // TODO javadoc!, and return parse results for storing them
     public SearchList processResultsForProject() {
+        return processResultsForProject(new PlistManifest());
+    }
+
+    /**
+     * Brings the manifest up to date with the results directory of the project. Only the new and
+     * changed plists are parsed, the reports of the unchanged ones are reused, and the entries of the
+     * removed plists are evicted.
+     * @param manifest The manifest of the previous parse of the project.
+     * @return Every report of the project.
+     */
+    public SearchList processResultsForProject(final PlistManifest manifest) {
         // TODO Get This
         String ws = ResourcesPlugin.getWorkspace().getRoot().getLocation().toString() + "/.codechecker/"
             + project.getName() + "/results";
         Logger.log(IStatus.INFO, "Parsing plists in :" + ws);
         File file = new File(ws);
-        SearchList sl = new SearchList();
+        File[] plists = new File[0];
         if (file.exists()) {
-            for (File f : file.listFiles(new FilenameFilter() {
+            plists = file.listFiles(new FilenameFilter() {
 
                 @Override
                 public boolean accept(File dir, String name) {
@@ -115,11 +223,123 @@ public class PlistParser {
                         return true;
                     return false;
                 }
-            })) {
-                //Logger.log(IStatus.INFO, "Parsing plist :" + f);
-                parsePlist(f, sl);
+            });
+        }
+        // Concurrent jobs of the same project must not interleave their updates.
+        synchronized (manifest.getUpdateLock()) {
+            List<File> present = Arrays.asList(plists);
+            int evicted = manifest.retain(present);
+            List<File> changed = manifest.getChanged(present);
+            List<PlistManifest.Entry> entries = refreshAll(changed, manifest);
+            for (int i = 0; i < changed.size(); ++i) {
+                // Failed files are left out, so they are tried again next time.
+                if (entries.get(i) != null)
+                    manifest.put(changed.get(i), entries.get(i));
             }
+            Logger.log(IStatus.INFO, "Refreshed " + changed.size() + " plists, reused "
+                    + (plists.length - changed.size()) + ", evicted " + evicted + ".");
+            return manifest.getSearchList();
+        }
+    }
+
+    /**
+     * Brings the manifest up to date with the given plists only, the rest of the results directory is
+     * not listed. Used for merging the plists as they are written, while the analysis is running.
+     * @param plists The new, changed or removed plists.
+     * @param manifest The manifest of the project.
+     * @return Every report of the project.
+     */
+    public SearchList processResults(Collection<File> plists, final PlistManifest manifest) {
+        synchronized (manifest.getUpdateLock()) {
+            List<File> present = new ArrayList<>();
+            for (File plist : plists) {
+                if (plist.isFile())
+                    present.add(plist);
+                else
+                    manifest.remove(plist);
+            }
+            List<File> changed = manifest.getChanged(present);
+            List<PlistManifest.Entry> entries = refreshAll(changed, manifest);
+            for (int i = 0; i < changed.size(); ++i) {
+                // Failed files are left out, so they are tried again next time. A plist that is still
+                // being written is parsed again on its next change.
+                if (entries.get(i) != null)
+                    manifest.put(changed.get(i), entries.get(i));
+            }
+            return manifest.getSearchList();
+        }
+    }
+
+    /**
+     * @return The number of parser threads to be used, resolved from the configured value.
+     */
+    private int getParseThreads() {
+        return parseThreads > 0 ? parseThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Refreshes the manifest entries of the given files, on a bounded thread pool if more than one
+     * thread is configured. The workers share no state, the entries are collected in the order of the
+     * files.
+     * @param plists The files to be refreshed.
+     * @param manifest The manifest the entries are created for.
+     * @return The new entries in the order of the files, null for the files that couldn't be read or
+     *         parsed.
+     */
+    private List<PlistManifest.Entry> refreshAll(List<File> plists, final PlistManifest manifest) {
+        List<PlistManifest.Entry> entries = new ArrayList<>(Collections.nCopies(plists.size(),
+                (PlistManifest.Entry) null));
+        int threads = Math.min(getParseThreads(), plists.size());
+        if (threads <= 1) {
+            for (int i = 0; i < plists.size(); ++i) {
+                entries.set(i, refresh(plists.get(i), manifest));
+            }
+            return entries;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("CodeChecker plist parser %d").setDaemon(true).build());
+        try {
+            List<Future<PlistManifest.Entry>> results = new ArrayList<>(plists.size());
+            for (final File f : plists) {
+                results.add(pool.submit(new Callable<PlistManifest.Entry>() {
+                    @Override
+                    public PlistManifest.Entry call() {
+                        return refresh(f, manifest);
+                    }
+                }));
+            }
+            for (int i = 0; i < plists.size(); ++i) {
+                try {
+                    entries.set(i, results.get(i).get());
+                } catch (ExecutionException e) {
+                    Logger.log(IStatus.ERROR, "Cannot Parse File :" + e.getCause() + " in file: "
+                            + plists.get(i).getName());
+                }
+            }
+        } catch (InterruptedException e) {
+            Logger.log(IStatus.WARNING, "Plist parsing interrupted.");
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        return entries;
+    }
+
+    /**
+     * @param plist The file to be refreshed.
+     * @param manifest The manifest the entry is created for.
+     * @return The new entry, or null if the file couldn't be read or parsed. A runtime failure of the
+     *         parsing is handled the same way, so it fails the file only, on every thread count.
+     */
+    private PlistManifest.Entry refresh(File plist, PlistManifest manifest) {
+        try {
+            return manifest.refresh(plist, this::tryParseReports);
+        } catch (IOException e) {
+            Logger.log(IStatus.ERROR, "Cannot refresh File :" + e.getMessage() + " in file: " + plist.getName());
+            return null;
+        } catch (RuntimeException e) {
+            Logger.log(IStatus.ERROR, "Cannot Parse File :" + e + " in file: " + plist.getName());
+            return null;
         }
-        return sl;
     }
 }
@@ -0,0 +1,9 @@
+package org.codechecker.eclipse.plugin.report;
+
+/**
+ * This enum represents the available ways of parsing the analysis result plists.
+ * DOM builds the whole dd-plist document tree, STREAM reads the files with {@link StreamingPlistParser}.
+ */
+public enum PlistParserTypes {
+    DOM, STREAM;
+}
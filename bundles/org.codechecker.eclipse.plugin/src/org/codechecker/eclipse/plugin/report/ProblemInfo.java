@@ -3,32 +3,121 @@ package org.codechecker.eclipse.plugin.report;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+
 //TODO Refactor this to be called BugPathList.
 /**
  * Contains a list of BugPathItems.
+ *
+ * The items are not kept as objects, the positions and file indices are packed into one int array,
+ * the distinct files of the path are stored once. {@link BugPathItem}s are only created when they are
+ * asked for, e.g. when the report is expanded in a view. Lines and columns are stored as int.
  */
 public class ProblemInfo {
 
-    private final ImmutableList<BugPathItem> items;
+    // When every item starts where it ends (as the plist events do) only the start is stored.
+    private static final int POINT_STRIDE = 3;
+    private static final int RANGE_STRIDE = 5;
+    private static final int START_LINE = 0;
+    private static final int START_COL = 1;
+    private static final int FILE = 2;
+    private static final int END_LINE = 3;
+    private static final int END_COL = 4;
+
+    private final int stride;
+    private final int[] data;
+    private final String[] files;
+    private final String[] messages;
 
     public ProblemInfo(ImmutableList<BugPathItem> items) {
-        this.items = items;
+        boolean points = true;
+        for (BugPathItem item : items) {
+            points &= item.getStartPosition().equals(item.getEndPosition());
+        }
+        stride = points ? POINT_STRIDE : RANGE_STRIDE;
+        data = new int[items.size() * stride];
+        messages = new String[items.size()];
+        List<String> fileList = new ArrayList<>();
+        for (int i = 0; i < items.size(); ++i) {
+            BugPathItem item = items.get(i);
+            int base = i * stride;
+            data[base + START_LINE] = (int) item.getStartPosition().getLine();
+            data[base + START_COL] = (int) item.getStartPosition().getColumn();
+            if (!points) {
+                data[base + END_LINE] = (int) item.getEndPosition().getLine();
+                data[base + END_COL] = (int) item.getEndPosition().getColumn();
+            }
+            // Paths rarely span more than a few files, a linear search is enough.
+            int file = fileList.indexOf(item.getFile());
+            if (file < 0) {
+                file = fileList.size();
+                fileList.add(item.getFile());
+            }
+            data[base + FILE] = file;
+            messages[i] = item.getMessage();
+        }
+        files = fileList.toArray(new String[fileList.size()]);
     }
 
+    /**
+     * Creates every item of the path.
+     * @return The items, a new list on every call.
+     */
     public ImmutableList<BugPathItem> getItems() {
-        return items;
+        ImmutableList.Builder<BugPathItem> items = ImmutableList.builder();
+        for (int i = 0; i < size(); ++i) {
+            items.add(getItem(i));
+        }
+        return items.build();
+    }
+
+    /**
+     * @return The number of items in the path.
+     */
+    public int size() {
+        return messages.length;
+    }
+
+    /**
+     * @param index Index of the item.
+     * @return A new item with the data of the index.
+     */
+    public BugPathItem getItem(int index) {
+        int base = index * stride;
+        Position start = new Position(data[base + START_LINE], data[base + START_COL]);
+        Position end = stride == POINT_STRIDE ? start : new Position(data[base + END_LINE], data[base + END_COL]);
+        return new BugPathItem(start, end, messages[index], files[data[base + FILE]]);
+    }
+
+    /**
+     * @param index Index of the item.
+     * @return The message of the item, without creating it.
+     */
+    public String getMessage(int index) {
+        return messages[index];
+    }
+
+    /**
+     * @param index Index of the item.
+     * @return The file of the item, without creating it.
+     */
+    public String getFile(int index) {
+        return files[data[index * stride + FILE]];
     }
 
     @Override
     public String toString() {
-        return MoreObjects.toStringHelper(this).add("items", items).toString();
+        return MoreObjects.toStringHelper(this).add("items", getItems()).toString();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(items);
+        return Objects.hash(stride, Arrays.hashCode(data), Arrays.hashCode(files), Arrays.hashCode(messages));
     }
 
     @Override
@@ -36,7 +125,9 @@ public class ProblemInfo {
         if (obj instanceof ProblemInfo) {
             ProblemInfo oth = (ProblemInfo) obj;
 
-            return Objects.equals(items, oth.items);
+            // The file table follows the order of the items, so equal paths are packed the same way.
+            return stride == oth.stride && Arrays.equals(files, oth.files) && Arrays.equals(data, oth.data)
+                    && Arrays.equals(messages, oth.messages);
         }
 
         return false;
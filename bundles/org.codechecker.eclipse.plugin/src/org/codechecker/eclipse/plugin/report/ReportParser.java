@@ -2,11 +2,14 @@ package org.codechecker.eclipse.plugin.report;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Iterables;
 
 /**
  * This class is for filtering the reports in memory.
@@ -16,6 +19,9 @@ public class ReportParser implements Runnable {
     private List<SearchListener> listeners = new ArrayList<SearchListener>();
     private SearchList reports;
     private String currentFileName;
+    private int batchSize = Integer.parseInt(ConfigTypes.REPORT_BATCH_SIZE.getDefaultValue());
+    private long batchWindow = Long.parseLong(ConfigTypes.REPORT_BATCH_WINDOW.getDefaultValue());
+    private IProgressMonitor monitor = new NullProgressMonitor();
 
     /**
      *
@@ -27,6 +33,32 @@ public class ReportParser implements Runnable {
         this.currentFileName = currentFileName;
     }
 
+    /**
+     * Sets how many new reports are needed before the partial results are handed to the listeners.
+     * @param batchSize Number of reports, 0 or less means no partial results at all.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sets the minimal time between two deliveries of partial results, so the listeners (and the views
+     * behind them) are not refreshed more often than this.
+     * @param batchWindow The time in milliseconds.
+     */
+    public void setBatchWindow(long batchWindow) {
+        this.batchWindow = batchWindow;
+    }
+
+    /**
+     * Sets the monitor that is checked for cancellation between the reports. A canceled filtering
+     * delivers nothing more to the listeners.
+     * @param monitor The monitor of the job running the filtering.
+     */
+    public void setMonitor(IProgressMonitor monitor) {
+        this.monitor = monitor;
+    }
+
     /**
      * Processes reports for displaying. If filename is null no report gets filtered.
      */
@@ -39,21 +71,46 @@ public class ReportParser implements Runnable {
             }
         else {
             //TODO really needs a test for ensuring that all reports get coped over
-            SearchList filteredReoports = new SearchList();
-            for (String checker : reports.getCheckers()) 
-                for (ReportInfo rep : reports.getReportsFor(checker))
-                    if (Iterables.getLast(rep.getChildren().orNull().getItems()).getFile().equals(currentFileName)){
-                        filteredReoports.addReports(ImmutableList.of(rep));
-                        for (SearchListener listener : listeners){
-                            listener.onPartsArrived(filteredReoports);
-                        }
+            List<ReportInfo> matched = new ArrayList<>();
+            int pending = 0;
+            long lastDelivery = System.nanoTime();
+            for (ReportInfo rep : reports.getReportsIn(currentFileName)) {
+                if (monitor.isCanceled())
+                    return;
+                matched.add(rep);
+                ++pending;
+                // The partial results are only delivered in batches, every delivery refreshes the views.
+                if (batchSize > 0 && pending >= batchSize
+                        && System.nanoTime() - lastDelivery >= TimeUnit.MILLISECONDS.toNanos(batchWindow)) {
+                    SearchList filteredReoports = toSearchList(matched);
+                    for (SearchListener listener : listeners){
+                        listener.onPartsArrived(filteredReoports);
                     }
+                    pending = 0;
+                    lastDelivery = System.nanoTime();
+                }
+            }
+            if (monitor.isCanceled())
+                return;
+            SearchList filteredReoports = toSearchList(matched);
             for (SearchListener listener : listeners){
                 listener.onTotalCountAvailable(filteredReoports, 1);
             }
         }
     }
 
+    /**
+     * Every delivery gets its own {@link SearchList}, as the views may still show the previous one while
+     * the filtering goes on.
+     * @param matched The reports matched so far.
+     * @return A new list with the reports.
+     */
+    private static SearchList toSearchList(List<ReportInfo> matched) {
+        SearchList sl = new SearchList();
+        sl.addReports(ImmutableList.copyOf(matched));
+        return sl;
+    }
+
     /**
      * Adds a {@link SearchListener} listener to this instance.
      * @param listener The listener to be added.
@@ -0,0 +1,302 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
+
+/**
+ * Binary snapshot of a {@link PlistManifest}, so the reports of a project can be shown right after
+ * startup, without parsing the plists again.
+ *
+ * Every string is stored once in a table at the start of the file, and referred by its index
+ * everywhere else. Strings and hashes are length prefixed. The snapshot is written to a temporary file
+ * first, then moved over the old one, so a crash never leaves a half written snapshot behind.
+ */
+public final class ReportSnapshot {
+
+    private static final int MAGIC = 0x43435253; // "CCRS"
+    // Increase when the layout, or the content of the parsed reports changes.
+    private static final int VERSION = 1;
+    private static final int NULL_STRING = -1;
+
+    /**
+     * Hidden utility ctor.
+     */
+    private ReportSnapshot() {}
+
+    /**
+     * Writes the manifest with all of its reports.
+     * @param manifest The manifest to be saved.
+     * @param target The snapshot file, replaced if exists.
+     * @throws IOException Thrown when the snapshot cannot be written.
+     */
+    public static void write(PlistManifest manifest, Path target) throws IOException {
+        ImmutableMap<File, PlistManifest.Entry> entries = manifest.getEntries();
+        StringTable strings = new StringTable();
+        for (Map.Entry<File, PlistManifest.Entry> e : entries.entrySet()) {
+            strings.add(e.getKey().getPath());
+            for (ReportInfo report : e.getValue().getReports()) {
+                strings.add(report);
+            }
+        }
+
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(strings.list.size());
+                for (String s : strings.list) {
+                    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+                out.writeInt(entries.size());
+                for (Map.Entry<File, PlistManifest.Entry> e : entries.entrySet()) {
+                    PlistManifest.Entry entry = e.getValue();
+                    out.writeInt(strings.id(e.getKey().getPath()));
+                    out.writeLong(entry.getLastModified());
+                    out.writeLong(entry.getSize());
+                    byte[] hash = entry.getHash().asBytes();
+                    out.writeInt(hash.length);
+                    out.write(hash);
+                    out.writeInt(entry.getReports().size());
+                    for (ReportInfo report : entry.getReports()) {
+                        writeReport(out, strings, report);
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a snapshot into a new manifest, with its own {@link StringPool}.
+     * @param source The snapshot file.
+     * @return The manifest as it was saved.
+     * @throws IOException Thrown when the snapshot cannot be read, is corrupt, or has another version.
+     */
+    public static PlistManifest read(Path source) throws IOException {
+        return read(source, new StringPool());
+    }
+
+    /**
+     * Reads a snapshot into a new manifest. The file is read into memory at once, and decoded in one pass.
+     * It is not memory mapped, because a mapped file cannot be replaced on Windows while the mapping is
+     * alive, and the mapping is only released when the buffer is garbage collected.
+     * @param source The snapshot file.
+     * @param pool The strings of the table are deduplicated with this.
+     * @return The manifest as it was saved.
+     * @throws IOException Thrown when the snapshot cannot be read, is corrupt, or has another version.
+     */
+    public static PlistManifest read(Path source, StringPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE)
+                throw new IOException("Report snapshot too large: " + source);
+            ByteBuffer in = ByteBuffer.allocate((int) length);
+            while (in.hasRemaining()) {
+                if (channel.read(in) < 0)
+                    throw new IOException("Truncated report snapshot: " + source);
+            }
+            in.flip();
+            if (in.getInt() != MAGIC)
+                throw new IOException("Not a report snapshot: " + source);
+            int version = in.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported report snapshot version: " + version);
+
+            String[] strings = new String[in.getInt()];
+            for (int i = 0; i < strings.length; ++i) {
+                byte[] bytes = new byte[in.getInt()];
+                in.get(bytes);
+                strings[i] = pool.intern(new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            PlistManifest manifest = new PlistManifest();
+            int entryCount = in.getInt();
+            for (int i = 0; i < entryCount; ++i) {
+                File plist = new File(string(strings, in.getInt()));
+                long lastModified = in.getLong();
+                long size = in.getLong();
+                byte[] hash = new byte[in.getInt()];
+                in.get(hash);
+                int reportCount = in.getInt();
+                ImmutableList.Builder<ReportInfo> reports = ImmutableList.builder();
+                for (int r = 0; r < reportCount; ++r) {
+                    reports.add(readReport(in, strings));
+                }
+                manifest.put(plist, new PlistManifest.Entry(lastModified, size, HashCode.fromBytes(hash),
+                        reports.build()));
+            }
+            return manifest;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | NegativeArraySizeException e) {
+            throw new IOException("Corrupt report snapshot: " + source, e);
+        }
+    }
+
+    /**
+     * @param out The snapshot stream.
+     * @param strings The string table of the snapshot.
+     * @param report The report to be written.
+     * @throws IOException Thrown when the stream cannot be written.
+     */
+    private static void writeReport(DataOutputStream out, StringTable strings, ReportInfo report)
+            throws IOException {
+        out.writeInt(strings.id(report.getCheckerId()));
+        out.writeInt(strings.id(report.getBugHash()));
+        out.writeInt(strings.id(report.getCheckedFile()));
+        out.writeInt(strings.id(report.getCheckerMsg()));
+        out.writeLong(report.getReportId());
+        out.writeBoolean(report.isSuppressed());
+        out.writeInt(strings.id(report.getFile()));
+        writeItem(out, strings, report.getLastBugPathItem());
+        Optional<ProblemInfo> bugPath = report.getChildren();
+        out.writeBoolean(bugPath.isPresent());
+        if (bugPath.isPresent()) {
+            out.writeInt(bugPath.get().size());
+            for (int i = 0; i < bugPath.get().size(); ++i) {
+                writeItem(out, strings, bugPath.get().getItem(i));
+            }
+        }
+    }
+
+    /**
+     * @param in The snapshot buffer.
+     * @param strings The string table of the snapshot.
+     * @return The report at the current position.
+     */
+    private static ReportInfo readReport(ByteBuffer in, String[] strings) {
+        String checkerId = string(strings, in.getInt());
+        String bugHash = string(strings, in.getInt());
+        String checkedFile = string(strings, in.getInt());
+        String checkerMsg = string(strings, in.getInt());
+        long reportId = in.getLong();
+        boolean suppressed = in.get() != 0;
+        String file = string(strings, in.getInt());
+        BugPathItem last = readItem(in, strings);
+        Optional<ProblemInfo> bugPath = Optional.absent();
+        if (in.get() != 0) {
+            int itemCount = in.getInt();
+            List<BugPathItem> items = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; ++i) {
+                items.add(readItem(in, strings));
+            }
+            bugPath = Optional.of(new ProblemInfo(ImmutableList.copyOf(items)));
+        }
+        return new ReportInfo(checkerId, bugHash, checkedFile, checkerMsg, reportId, suppressed, file, last,
+                bugPath);
+    }
+
+    /**
+     * @param out The snapshot stream.
+     * @param strings The string table of the snapshot.
+     * @param item The bug path item to be written.
+     * @throws IOException Thrown when the stream cannot be written.
+     */
+    private static void writeItem(DataOutputStream out, StringTable strings, BugPathItem item) throws IOException {
+        out.writeLong(item.getStartPosition().getLine());
+        out.writeLong(item.getStartPosition().getColumn());
+        out.writeLong(item.getEndPosition().getLine());
+        out.writeLong(item.getEndPosition().getColumn());
+        out.writeInt(strings.id(item.getMessage()));
+        out.writeInt(strings.id(item.getFile()));
+    }
+
+    /**
+     * @param in The snapshot buffer.
+     * @param strings The string table of the snapshot.
+     * @return The bug path item at the current position.
+     */
+    private static BugPathItem readItem(ByteBuffer in, String[] strings) {
+        Position start = new Position(in.getLong(), in.getLong());
+        Position end = new Position(in.getLong(), in.getLong());
+        return new BugPathItem(start, end, string(strings, in.getInt()), string(strings, in.getInt()));
+    }
+
+    /**
+     * @param strings The string table of the snapshot.
+     * @param id Index into the table.
+     * @return The string, or null for {@link #NULL_STRING}.
+     */
+    private static String string(String[] strings, int id) {
+        return id == NULL_STRING ? null : strings[id];
+    }
+
+    /**
+     * Assigns an index to every distinct string, in the order of their first occurrence.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> list = new ArrayList<>();
+
+        /**
+         * @param s The string to be added, null is not stored.
+         */
+        void add(String s) {
+            if (s != null && !ids.containsKey(s)) {
+                ids.put(s, list.size());
+                list.add(s);
+            }
+        }
+
+        /**
+         * @param report Every string of the report is added.
+         */
+        void add(ReportInfo report) {
+            add(report.getCheckerId());
+            add(report.getBugHash());
+            add(report.getCheckedFile());
+            add(report.getCheckerMsg());
+            add(report.getFile());
+            add(report.getLastBugPathItem());
+            if (report.getChildren().isPresent()) {
+                ProblemInfo bugPath = report.getChildren().get();
+                for (int i = 0; i < bugPath.size(); ++i) {
+                    add(bugPath.getMessage(i));
+                    add(bugPath.getFile(i));
+                }
+            }
+        }
+
+        /**
+         * @param item Every string of the item is added.
+         */
+        void add(BugPathItem item) {
+            add(item.getMessage());
+            add(item.getFile());
+        }
+
+        /**
+         * @param s A string that was already added.
+         * @return Its index, or {@link #NULL_STRING}.
+         */
+        int id(String s) {
+            return s == null ? NULL_STRING : ids.get(s);
+        }
+    }
+}
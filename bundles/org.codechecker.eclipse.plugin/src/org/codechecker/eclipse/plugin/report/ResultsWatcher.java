@@ -0,0 +1,278 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codechecker.eclipse.plugin.Logger;
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Watches a results directory, and hands over the plists that were created, changed or removed, in
+ * batches. A plist is handed over when it was not touched for the settle time, so the analyzer is most
+ * likely done writing it. When the events are lost (overflow), every plist of the directory is handed
+ * over. A missing directory is waited for, and watched from when it is created. The batches are handed
+ * over on the thread of the watcher, one thread per directory, which sleeps while nothing happens.
+ */
+public class ResultsWatcher {
+
+    public static final int DEFAULT_BATCH_SIZE = 200;
+
+    private static final String PLIST_EXTENSION = ".plist";
+
+    private final Path directory;
+    private final long settleTime;
+    private final Consumer<List<File>> consumer;
+    private volatile int batchSize = DEFAULT_BATCH_SIZE;
+    // The plists waiting to settle, with the time of their last event, in the order of their first event.
+    private final Map<Path, Long> pending = new LinkedHashMap<>();
+    private WatchService watchService;
+    // Watches the directory while it exists.
+    private WatchKey directoryKey;
+    // Watches the parent for the creation of the directory while it doesn't exist.
+    private WatchKey parentKey;
+    private Thread thread;
+
+    /**
+     * @param directory The watched directory, its parent must exist.
+     * @param settleTime The time in milliseconds a plist must not be touched before it's handed over.
+     * @param consumer Gets the batches of plists.
+     */
+    public ResultsWatcher(Path directory, long settleTime, Consumer<List<File>> consumer) {
+        this.directory = directory.toAbsolutePath();
+        this.settleTime = settleTime;
+        this.consumer = consumer;
+    }
+
+    /**
+     * A large drop of plists is handed over in several batches, so the reports are shown as they are
+     * parsed.
+     * @param batchSize The maximal number of plists in a batch.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Starts watching the directory on a new daemon thread. The plists already in the directory are
+     * handed over too.
+     * @throws IOException Thrown when the directory can't be watched.
+     */
+    public synchronized void start() throws IOException {
+        if (thread != null)
+            return;
+        watchService = FileSystems.getDefault().newWatchService();
+        try {
+            register();
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watch();
+            }
+        }, "CodeChecker results watcher " + directory.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return Whether the watcher is started and not closed yet.
+     */
+    public synchronized boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Stops watching, the plists that didn't settle yet are not handed over.
+     */
+    public synchronized void close() {
+        if (thread == null)
+            return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Couldn't close the watcher of " + directory + ": " + e.getMessage());
+        }
+        thread.interrupt();
+        thread = null;
+    }
+
+    /**
+     * Watches the directory if it exists, its parent otherwise. The plists of the directory are
+     * recorded, as they may have been written before it was watched.
+     * @throws IOException Thrown when neither the directory, nor its parent can be watched.
+     */
+    private void register() throws IOException {
+        if (Files.isDirectory(directory)) {
+            try {
+                directoryKey = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                if (parentKey != null) {
+                    parentKey.cancel();
+                    parentKey = null;
+                }
+                rescan();
+                return;
+            } catch (NoSuchFileException e) {
+                // Removed in the meantime.
+            }
+        }
+        directoryKey = null;
+        if (parentKey == null)
+            parentKey = directory.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+        // Created in the meantime.
+        if (Files.isDirectory(directory))
+            register();
+    }
+
+    /**
+     * The loop of the watcher thread.
+     */
+    private void watch() {
+        WatchService service;
+        synchronized (this) {
+            service = watchService;
+        }
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = pending.isEmpty() ? service.take() : service.poll(settleTime, TimeUnit.MILLISECONDS);
+                if (key != null && !handle(key))
+                    break;
+                List<File> settled = getSettled();
+                for (int i = 0; i < settled.size(); i += batchSize) {
+                    try {
+                        consumer.accept(settled.subList(i, Math.min(settled.size(), i + batchSize)));
+                    } catch (RuntimeException e) {
+                        // A failed batch must not stop the watching, the next change is handed over again.
+                        Logger.log(IStatus.ERROR, "Couldn't process the results of " + directory + ": " + e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed.
+        } catch (IOException e) {
+            Logger.log(IStatus.ERROR, "Stopped watching " + directory + ": " + e.getMessage());
+        } finally {
+            stopped();
+        }
+    }
+
+    /**
+     * Clears the state when the loop exits on its own, so the watcher is not reported running, and can be
+     * started again.
+     */
+    private synchronized void stopped() {
+        if (thread != Thread.currentThread())
+            return;
+        thread = null;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Couldn't close the watcher of " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param key A signalled key.
+     * @return False if nothing can be watched any more.
+     * @throws IOException Thrown when the parent can't be watched.
+     */
+    private boolean handle(WatchKey key) throws IOException {
+        if (key == directoryKey) {
+            collect(key);
+            if (!key.reset()) {
+                // The directory was removed, wait for it to be created again.
+                Logger.log(IStatus.INFO, "The results directory " + directory + " was removed.");
+                register();
+            }
+        } else if (key == parentKey) {
+            boolean created = false;
+            for (WatchEvent<?> event : key.pollEvents())
+                created |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || directory.getFileName().equals(event.context());
+            if (!key.reset()) {
+                Logger.log(IStatus.WARNING, "The parent of " + directory + " was removed, it is no longer watched.");
+                return false;
+            }
+            if (created)
+                register();
+        } else {
+            // A key cancelled in the meantime.
+            key.pollEvents();
+        }
+        return true;
+    }
+
+    /**
+     * Records the plists of the events of a key.
+     * @param key A signalled key.
+     */
+    private void collect(WatchKey key) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                rescan();
+                continue;
+            }
+            Path name = (Path) event.context();
+            if (isPlist(name))
+                pending.put(directory.resolve(name), System.nanoTime());
+        }
+    }
+
+    /**
+     * Records every plist of the directory.
+     */
+    private void rescan() {
+        long now = System.nanoTime();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path plist : files.filter(p -> isPlist(p.getFileName())).collect(Collectors.toList()))
+                pending.put(plist, now);
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Couldn't list " + directory + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The plists that were not touched for the settle time, removed from the pending ones.
+     */
+    private List<File> getSettled() {
+        long now = System.nanoTime();
+        List<File> settled = new ArrayList<>();
+        for (Iterator<Map.Entry<Path, Long>> it = pending.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Path, Long> entry = it.next();
+            if (TimeUnit.NANOSECONDS.toMillis(now - entry.getValue()) >= settleTime) {
+                settled.add(entry.getKey().toFile());
+                it.remove();
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * @param name A file name.
+     * @return Whether it is the name of a plist.
+     */
+    private static boolean isPlist(Path name) {
+        return name.toString().toLowerCase().endsWith(PLIST_EXTENSION);
+    }
+}
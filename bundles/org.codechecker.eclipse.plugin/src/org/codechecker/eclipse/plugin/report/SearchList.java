@@ -6,35 +6,87 @@ import org.codechecker.eclipse.plugin.runtime.LogI;
 import org.codechecker.eclipse.plugin.runtime.SLogger;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.TreeMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 
 
 import java.util.Collection;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Stores all report information for a project.
  *
+ * The list of a project is updated in place, with the reports of the changed plists only, while the
+ * views read it. So every access is synchronized, and the collections returned are copies.
  */
 public class SearchList {
 
-    private final Multimap<String, ReportInfo> reports;
+    // The reports by checker, with the number of times each was added. A report added by several plists
+    // (in a common header for example) is listed once, and kept until every one of them is removed.
+    private final SortedMap<String, TreeMap<ReportInfo, Integer>> reports;
+    // Secondary index, the reports by the file of their last bug path item.
+    private final ListMultimap<String, ReportInfo> reportsByFile;
+    private int recordCount;
+    // Changes whenever reports are added or removed, so the views can tell the list changed in place.
+    private long modificationCount;
 
     private Optional<Integer> totalReportCount;
+    // Built on first use, and dropped when the reports change.
+    private CheckerTree checkerTree;
 
     public SearchList() {
-        this.reports = TreeMultimap.create();
+        this.reports = new TreeMap<>();
+        this.reportsByFile = ArrayListMultimap.create();
         totalReportCount = Optional.absent();
     }
 
-    public void addReports(ImmutableList<ReportInfo> reports) {
+    public synchronized void addReports(ImmutableList<ReportInfo> reports) {
+        checkerTree = null;
+        ++modificationCount;
         for (ReportInfo report : reports) {
-            if (this.reports.containsValue(report)) {
-                //SLogger.log(LogI.WARNING, "Duplicate report in the result list: " + report);
+            TreeMap<ReportInfo, Integer> checkerReports = this.reports.get(report.getCheckerId());
+            if (checkerReports == null) {
+                checkerReports = new TreeMap<>();
+                this.reports.put(report.getCheckerId(), checkerReports);
             }
-            this.reports.put(report.getCheckerId(), report);
+            Integer count = checkerReports.get(report);
+            // Reports already present under the checker are not added again, only counted.
+            checkerReports.put(report, count == null ? 1 : count + 1);
+            if (count == null) {
+                reportsByFile.put(getFileOf(report), report);
+                ++recordCount;
+            }
+        }
+    }
+
+    /**
+     * Removes the reports added earlier, for example the reports of a plist that changed or was removed.
+     * A report added several times is only removed with its last occurrence.
+     * @param reports The reports to be removed.
+     */
+    public synchronized void removeReports(ImmutableList<ReportInfo> reports) {
+        checkerTree = null;
+        ++modificationCount;
+        for (ReportInfo report : reports) {
+            TreeMap<ReportInfo, Integer> checkerReports = this.reports.get(report.getCheckerId());
+            Integer count = checkerReports == null ? null : checkerReports.get(report);
+            if (count == null)
+                continue;
+            if (count > 1) {
+                checkerReports.put(report, count - 1);
+                continue;
+            }
+            // The file index holds the instance that was added first.
+            ReportInfo stored = checkerReports.ceilingKey(report);
+            checkerReports.remove(report);
+            if (checkerReports.isEmpty())
+                this.reports.remove(report.getCheckerId());
+            reportsByFile.remove(getFileOf(stored), stored);
+            --recordCount;
         }
     }
 
@@ -46,16 +98,86 @@ public class SearchList {
         this.totalReportCount = Optional.of(totalReportCount);
     }
 
-    public Integer getRecordCount() {
-        return reports.size();
+    public synchronized Integer getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return A counter that changes whenever reports are added or removed.
+     */
+    public synchronized long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * @return A copy of the checkers, in alphabetical order.
+     */
+    public synchronized Set<String> getCheckers() {
+        return ImmutableSet.copyOf(reports.keySet());
+    }
+
+    /**
+     * @param checker The checker in question.
+     * @return A copy of the reports of the checker, in their order.
+     */
+    public synchronized Collection<ReportInfo> getReportsFor(String checker) {
+        TreeMap<ReportInfo, Integer> checkerReports = reports.get(checker);
+        return checkerReports == null ? ImmutableList.<ReportInfo>of() : ImmutableList.copyOf(checkerReports
+                .keySet());
+    }
+
+    /**
+     * The counts are kept by the indices, so this doesn't go through the reports.
+     * @param checker The checker in question.
+     * @return The number of reports of the checker.
+     */
+    public synchronized int getReportCount(String checker) {
+        TreeMap<ReportInfo, Integer> checkerReports = reports.get(checker);
+        return checkerReports == null ? 0 : checkerReports.size();
+    }
+
+    /**
+     * @param file The file in question.
+     * @return The number of reports whose bug path ends in the file.
+     */
+    public synchronized int getReportCountIn(String file) {
+        return reportsByFile.get(file).size();
+    }
+
+    /**
+     * @return The number of files with reports.
+     */
+    public synchronized int getFileCount() {
+        return reportsByFile.keySet().size();
+    }
+
+    /**
+     * @return The hierarchy of the checkers, built once for the current reports.
+     */
+    public synchronized CheckerTree getCheckerTree() {
+        if (checkerTree == null)
+            checkerTree = CheckerTree.build(this);
+        return checkerTree;
     }
 
-    public Set<String> getCheckers() {
-        return reports.keySet();
+    /**
+     * Looks up the reports of a file, without going through every report.
+     * @param file The file in question.
+     * @return A copy of the reports whose bug path ends in the file, in the order they were added.
+     */
+    public synchronized Collection<ReportInfo> getReportsIn(String file) {
+        return ImmutableList.copyOf(reportsByFile.get(file));
     }
 
-    public Collection<ReportInfo> getReportsFor(String checker) {
-        return reports.get(checker);
+    /**
+     * @param report The report in question.
+     * @return The file of the last item of the bug path, where the report is shown.
+     */
+    public static String getFileOf(ReportInfo report) {
+        Optional<ProblemInfo> bugPath = report.getChildren();
+        if (bugPath.isPresent() && bugPath.get().size() > 0)
+            return bugPath.get().getFile(bugPath.get().size() - 1);
+        return report.getLastBugPathItem().getFile();
     }
 
     /*public ProblemInfoJob getBugPathJobFor(ReportInfo report, int priority, Optional<Instant>
@@ -0,0 +1,371 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+
+/**
+ * Pull based (StAX) parser for the analysis result plist files.
+ *
+ * Unlike the dd-plist based parsing no document tree is built, only the values needed for the
+ * reports are read, everything else is skipped over. The reports are handed to the consumer one
+ * diagnostic at a time. Clang writes the "files" array after the "diagnostics", so until the file
+ * table is known, the diagnostics are kept in a lightweight pending form.
+ */
+public class StreamingPlistParser {
+
+    private static final String PLIST = "plist";
+    private static final String DICT = "dict";
+    private static final String ARRAY = "array";
+
+    private static final String KEY_DIAGNOSTICS = "diagnostics";
+    private static final String KEY_FILES = "files";
+    private static final String KEY_CHECK_NAME = "check_name";
+    private static final String KEY_DESCRIPTION = "description";
+    private static final String KEY_PATH = "path";
+    private static final String KEY_KIND = "kind";
+    private static final String KEY_MESSAGE = "message";
+    private static final String KEY_LOCATION = "location";
+    private static final String KEY_FILE = "file";
+    private static final String KEY_LINE = "line";
+    private static final String KEY_COL = "col";
+
+    private static final String KIND_EVENT = "event";
+
+    private static final ThreadLocal<XMLInputFactory> FACTORY = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // The plist DOCTYPE points to apple.com, it must not be fetched.
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    });
+
+    private final StringPool pool;
+
+    /**
+     * Creates a parser with its own {@link StringPool}.
+     */
+    public StreamingPlistParser() {
+        this(new StringPool());
+    }
+
+    /**
+     * @param pool The strings of the reports are deduplicated with this.
+     */
+    public StreamingPlistParser(StringPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Parses exactly one .plist file.
+     * @param file The file to be parsed.
+     * @param sink Receives the reports in the order of the diagnostics in the file.
+     * @throws IOException Thrown when the file cannot be read.
+     * @throws XMLStreamException Thrown when the file is not a well formed analysis result plist.
+     */
+    public void parse(File file, Consumer<ReportInfo> sink) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            XMLStreamReader reader = FACTORY.get().createXMLStreamReader(in);
+            try {
+                new PlistReader(reader, sink, pool).read();
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Holds the state of the parsing of one file.
+     */
+    private static final class PlistReader {
+        private final XMLStreamReader reader;
+        private final Consumer<ReportInfo> sink;
+        private final StringPool pool;
+        private final List<PendingDiagnostic> pending = new ArrayList<>();
+        private List<String> files;
+
+        /**
+         * @param reader The reader positioned at the start of the document.
+         * @param sink Receives the parsed reports.
+         * @param pool Deduplicates the strings of the reports.
+         */
+        PlistReader(XMLStreamReader reader, Consumer<ReportInfo> sink, StringPool pool) {
+            this.reader = reader;
+            this.sink = sink;
+            this.pool = pool;
+        }
+
+        /**
+         * Reads the top level dictionary of the plist.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        void read() throws XMLStreamException {
+            // Skip the prolog, (DTD, comments) up to the root element.
+            while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                if (!reader.hasNext())
+                    throw new XMLStreamException("Missing root element");
+            }
+            require(PLIST);
+            reader.nextTag();
+            require(DICT);
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String key = reader.getElementText();
+                reader.nextTag();
+                switch (key) {
+                    case KEY_DIAGNOSTICS:
+                        readDiagnostics();
+                        break;
+                    case KEY_FILES:
+                        files = readStrings();
+                        flushPending();
+                        break;
+                    default:
+                        skipElement();
+                        break;
+                }
+            }
+            if (!pending.isEmpty())
+                throw new XMLStreamException("Missing files array");
+        }
+
+        /**
+         * Reads the diagnostics array, the cursor should be on its start tag.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        private void readDiagnostics() throws XMLStreamException {
+            require(ARRAY);
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                PendingDiagnostic diagnostic = readDiagnostic();
+                if (files != null)
+                    emit(diagnostic);
+                else
+                    pending.add(diagnostic);
+            }
+        }
+
+        /**
+         * Reads one diagnostic dictionary.
+         * @return The diagnostic with unresolved file indices.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        private PendingDiagnostic readDiagnostic() throws XMLStreamException {
+            require(DICT);
+            PendingDiagnostic diagnostic = new PendingDiagnostic();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String key = reader.getElementText();
+                reader.nextTag();
+                switch (key) {
+                    case KEY_CHECK_NAME:
+                        diagnostic.checkerName = pool.intern(reader.getElementText());
+                        break;
+                    case KEY_DESCRIPTION:
+                        diagnostic.description = pool.intern(reader.getElementText());
+                        break;
+                    case KEY_PATH:
+                        readPath(diagnostic);
+                        break;
+                    default:
+                        skipElement();
+                        break;
+                }
+            }
+            return diagnostic;
+        }
+
+        /**
+         * Reads the bug path of a diagnostic, only the events are kept.
+         * @param diagnostic The diagnostic that the events are added to.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        private void readPath(PendingDiagnostic diagnostic) throws XMLStreamException {
+            require(ARRAY);
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                require(DICT);
+                String kind = null;
+                String message = null;
+                int[] location = null;
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    String key = reader.getElementText();
+                    reader.nextTag();
+                    switch (key) {
+                        case KEY_KIND:
+                            kind = reader.getElementText();
+                            break;
+                        case KEY_MESSAGE:
+                            message = pool.intern(reader.getElementText());
+                            break;
+                        case KEY_LOCATION:
+                            location = readLocation();
+                            break;
+                        default:
+                            skipElement();
+                            break;
+                    }
+                }
+                // We are only interested in bug events
+                if (KIND_EVENT.equals(kind) && location != null)
+                    diagnostic.events.add(new PendingEvent(message, location));
+            }
+        }
+
+        /**
+         * Reads a location dictionary.
+         * @return file index, line and column in this order.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        private int[] readLocation() throws XMLStreamException {
+            require(DICT);
+            int[] location = new int[PendingEvent.LOCATION_SIZE];
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String key = reader.getElementText();
+                reader.nextTag();
+                switch (key) {
+                    case KEY_FILE:
+                        location[PendingEvent.FILE] = readInteger();
+                        break;
+                    case KEY_LINE:
+                        location[PendingEvent.LINE] = readInteger();
+                        break;
+                    case KEY_COL:
+                        location[PendingEvent.COL] = readInteger();
+                        break;
+                    default:
+                        skipElement();
+                        break;
+                }
+            }
+            return location;
+        }
+
+        /**
+         * @return The value of the current integer element.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        private int readInteger() throws XMLStreamException {
+            String text = reader.getElementText().trim();
+            try {
+                return (int) Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                throw new XMLStreamException("Not an integer: " + text, reader.getLocation());
+            }
+        }
+
+        /**
+         * Reads an array of strings, the cursor should be on its start tag.
+         * @return The pooled strings in document order.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        private List<String> readStrings() throws XMLStreamException {
+            require(ARRAY);
+            List<String> strings = new ArrayList<>();
+            while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                strings.add(pool.intern(reader.getElementText()));
+            }
+            return strings;
+        }
+
+        /**
+         * Skips the current element with all of its children.
+         * @throws XMLStreamException Thrown on malformed input.
+         */
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT)
+                    ++depth;
+                else if (event == XMLStreamConstants.END_ELEMENT)
+                    --depth;
+            }
+        }
+
+        /**
+         * Checks that the cursor is on the start tag of the given element.
+         * @param name The expected element name.
+         * @throws XMLStreamException Thrown if the cursor is elsewhere.
+         */
+        private void require(String name) throws XMLStreamException {
+            reader.require(XMLStreamConstants.START_ELEMENT, null, name);
+        }
+
+        /**
+         * Emits the diagnostics that were read before the file table.
+         * @throws XMLStreamException Thrown when a file index is out of range.
+         */
+        private void flushPending() throws XMLStreamException {
+            for (PendingDiagnostic diagnostic : pending)
+                emit(diagnostic);
+            pending.clear();
+        }
+
+        /**
+         * Resolves the file indices of a diagnostic and hands the report to the sink.
+         * @param diagnostic The diagnostic to be emitted.
+         * @throws XMLStreamException Thrown when a file index is out of range.
+         */
+        private void emit(PendingDiagnostic diagnostic) throws XMLStreamException {
+            // A report ends in an event, the diagnostics without events are skipped, like in the dom
+            // based parsing.
+            if (diagnostic.events.isEmpty())
+                return;
+            List<BugPathItem> bugPathItemList = new ArrayList<>(diagnostic.events.size());
+            for (PendingEvent event : diagnostic.events) {
+                if (event.fileIndex < 0 || event.fileIndex >= files.size())
+                    throw new XMLStreamException("File index out of range: " + event.fileIndex);
+                Position position = new Position(event.line, event.col);
+                bugPathItemList.add(new BugPathItem(position, position, event.message,
+                        files.get(event.fileIndex)));
+            }
+            sink.accept(PlistParser.createReport(diagnostic.checkerName, diagnostic.description,
+                    bugPathItemList));
+        }
+    }
+
+    /**
+     * A diagnostic whose file indices are not yet resolved.
+     */
+    private static final class PendingDiagnostic {
+        private String checkerName;
+        private String description;
+        private final List<PendingEvent> events = new ArrayList<>();
+    }
+
+    /**
+     * A bug path event whose file index is not yet resolved.
+     */
+    private static final class PendingEvent {
+        static final int FILE = 0;
+        static final int LINE = 1;
+        static final int COL = 2;
+        static final int LOCATION_SIZE = 3;
+
+        private final String message;
+        private final int fileIndex;
+        private final int line;
+        private final int col;
+
+        /**
+         * @param message The event message.
+         * @param location file index, line and column in this order.
+         */
+        PendingEvent(String message, int[] location) {
+            this.message = message;
+            this.fileIndex = location[FILE];
+            this.line = location[LINE];
+            this.col = location[COL];
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.codechecker.eclipse.plugin.report;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Deduplicates the strings of the reports of a project. Checker names, file paths and most of the bug
+ * path messages repeat across the diagnostics and the plists, without the pool every occurrence would
+ * be kept as a separate copy.
+ *
+ * The pool holds its strings weakly, so strings of the discarded reports can be collected. Safe to be
+ * used from several parser threads.
+ */
+public class StringPool {
+
+    private final Interner<String> interner = Interners.newWeakInterner();
+
+    /**
+     * @param s The string to be deduplicated, can be null.
+     * @return The pooled instance equal to the string, or null.
+     */
+    public String intern(String s) {
+        return s == null ? null : interner.intern(s);
+    }
+}
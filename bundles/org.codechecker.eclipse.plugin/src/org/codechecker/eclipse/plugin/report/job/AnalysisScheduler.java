@@ -0,0 +1,232 @@
+package org.codechecker.eclipse.plugin.report.job;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.codechecker.eclipse.plugin.Logger;
+import org.codechecker.eclipse.plugin.config.CodeCheckerContext;
+import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
+import org.codechecker.eclipse.plugin.config.project.CodeCheckerProject;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+
+/**
+ * Schedules the analysis of a project after its builds. The builds in quick succession are coalesced:
+ * the analysis starts only when no build was requested in the coalescing window. A request arriving
+ * while an analysis is waiting to start is served by that analysis, as the build log is read when it
+ * starts. A request arriving during an analysis is served by one more analysis after it, no matter how
+ * many requests arrive. The results are parsed after every analysis.
+ */
+public class AnalysisScheduler {
+
+    /**
+     * The states of the scheduler.
+     */
+    private enum State {
+        IDLE, WINDOW, QUEUED, ANALYZING
+    }
+
+    private final ISchedulingRule rule;
+    private final LongSupplier window;
+    private final Supplier<Job> analysisFactory;
+    private final Supplier<Job> parseFactory;
+    private final Job windowJob;
+
+    private State state = State.IDLE;
+    private boolean pending;
+    private long lastRequest;
+    private Job analysis;
+    private int coalesced;
+    // Set when the project is closed, nothing is started after it.
+    private boolean disposed;
+
+    /**
+     * @param project The analyzed project.
+     */
+    public AnalysisScheduler(final IProject project) {
+        this(project, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return getWindow(project);
+            }
+        }, new Supplier<Job>() {
+            @Override
+            public Job get() {
+                return new AnalyzeJob(project);
+            }
+        }, new Supplier<Job>() {
+            @Override
+            public Job get() {
+                PlistParseJob plistParseJob = new PlistParseJob(project);
+                plistParseJob.addJobChangeListener(new JobDoneChangeListener() {
+                    @Override
+                    public void done(IJobChangeEvent event) {
+                        CodeCheckerContext.getInstance().refresAsync(project);
+                    }
+                });
+                return plistParseJob;
+            }
+        });
+    }
+
+    /**
+     * @param rule Keeps the analysis and the parsing of the project apart.
+     * @param window The coalescing window in milliseconds.
+     * @param analysisFactory Creates an analysis job.
+     * @param parseFactory Creates a parse job.
+     */
+    AnalysisScheduler(ISchedulingRule rule, LongSupplier window, Supplier<Job> analysisFactory,
+            Supplier<Job> parseFactory) {
+        this.rule = rule;
+        this.window = window;
+        this.analysisFactory = analysisFactory;
+        this.parseFactory = parseFactory;
+        this.windowJob = new Job("Waiting for more CodeChecker analysis requests") {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                windowElapsed();
+                return Status.OK_STATUS;
+            }
+        };
+        windowJob.setSystem(true);
+    }
+
+    /**
+     * Requests an analysis of the project, called after every build.
+     */
+    public synchronized void requestAnalysis() {
+        if (disposed)
+            return;
+        lastRequest = System.nanoTime();
+        switch (state) {
+            case IDLE:
+                state = State.WINDOW;
+                windowJob.schedule(window.getAsLong());
+                break;
+            case ANALYZING:
+                if (pending)
+                    ++coalesced;
+                pending = true;
+                break;
+            default:
+                // The waiting analysis reads the latest build log.
+                ++coalesced;
+                break;
+        }
+    }
+
+    /**
+     * Cancels the waiting and the running analysis, and forgets the pending request.
+     */
+    public synchronized void cancel() {
+        pending = false;
+        windowJob.cancel();
+        if (analysis != null)
+            analysis.cancel();
+        if (state == State.WINDOW)
+            state = State.IDLE;
+    }
+
+    /**
+     * Cancels the analyses for good, when the project is closed. The results of the cancelled analysis
+     * are not parsed, and no further analysis is started.
+     */
+    public synchronized void dispose() {
+        disposed = true;
+        cancel();
+    }
+
+    /**
+     * @return The number of requests served by an other analysis so far.
+     */
+    public synchronized int getCoalescedCount() {
+        return coalesced;
+    }
+
+    /**
+     * Starts the analysis if there was no request in the window, waits for the rest of the window
+     * otherwise.
+     */
+    private synchronized void windowElapsed() {
+        if (state != State.WINDOW || disposed)
+            return;
+        long remaining = window.getAsLong() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastRequest);
+        if (remaining > 0) {
+            windowJob.schedule(remaining);
+            return;
+        }
+        state = State.QUEUED;
+        final Job job = analysisFactory.get();
+        job.setRule(rule);
+        job.addJobChangeListener(new JobChangeAdapter() {
+            @Override
+            public void running(IJobChangeEvent event) {
+                analysisStarted(job);
+            }
+
+            @Override
+            public void done(IJobChangeEvent event) {
+                analysisDone(job);
+            }
+        });
+        analysis = job;
+        job.schedule();
+    }
+
+    /**
+     * @param job The started analysis.
+     */
+    private synchronized void analysisStarted(Job job) {
+        if (analysis == job)
+            state = State.ANALYZING;
+    }
+
+    /**
+     * Parses the results, and starts the pending analysis, unless the scheduler was disposed.
+     * @param job The finished analysis.
+     */
+    private synchronized void analysisDone(Job job) {
+        if (analysis != job)
+            return;
+        analysis = null;
+        if (disposed) {
+            state = State.IDLE;
+            return;
+        }
+        Job parse = parseFactory.get();
+        parse.setRule(rule);
+        parse.schedule();
+        if (pending) {
+            pending = false;
+            state = State.WINDOW;
+            windowJob.schedule(window.getAsLong());
+        } else {
+            state = State.IDLE;
+        }
+        if (coalesced > 0)
+            Logger.log(IStatus.INFO, coalesced + " analysis requests were coalesced so far.");
+    }
+
+    /**
+     * @param project The project in question.
+     * @return The configured coalescing window, or the default one if the configuration is invalid.
+     */
+    private static long getWindow(IProject project) {
+        CodeCheckerProject ccProject = CodeCheckerContext.getInstance().getCcProject(project);
+        String value = ccProject == null ? null : ccProject.getCurrentConfig().get(ConfigTypes.ANAL_WINDOW);
+        try {
+            if (value != null)
+                return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            Logger.log(IStatus.WARNING, "Invalid analysis coalescing window: " + value);
+        }
+        return Long.parseLong(ConfigTypes.ANAL_WINDOW.getDefaultValue());
+    }
+}
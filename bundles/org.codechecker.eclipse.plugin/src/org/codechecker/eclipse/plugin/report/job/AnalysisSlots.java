@@ -0,0 +1,186 @@
+package org.codechecker.eclipse.plugin.report.job;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.IntSupplier;
+
+import org.codechecker.eclipse.plugin.Logger;
+import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
+import org.codechecker.eclipse.plugin.config.global.CcGlobalConfiguration;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+import com.google.common.base.Optional;
+
+/**
+ * The analyzer thread budget of the whole workspace, so the analyses of several projects built together
+ * don't oversubscribe the machine. Every analysis leases some of the slots for its time, one slot is one
+ * analyzer thread. The analyses waiting for slots are served in the order of their requests. An analysis
+ * gets at most its fair share: the slots divided by the number of the running and the waiting analyses.
+ * The slots of a running analysis are not taken back, so the share of a late request grows when the
+ * earlier analyses finish.
+ */
+public final class AnalysisSlots {
+
+    private static final AnalysisSlots INSTANCE = new AnalysisSlots(new IntSupplier() {
+        @Override
+        public int getAsInt() {
+            return getConfiguredCapacity();
+        }
+    });
+    // The waiting requests check the cancellation of their monitor this often.
+    private static final long WAIT_STEP = 100;
+
+    private final IntSupplier capacity;
+    // The waiting requests in the order of their arrival.
+    private final Deque<Object> queue = new ArrayDeque<>();
+    private int usedSlots;
+    private int leaseCount;
+    // For the utilization, the integral of the used and the available slots over time.
+    private long usedSlotNanos;
+    private long capacityNanos;
+    private long lastChange = System.nanoTime();
+
+    /**
+     * @param capacity The number of slots, read on every request so a changed configuration is applied to
+     *            the next analyses.
+     */
+    AnalysisSlots(IntSupplier capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return The budget of the workspace.
+     */
+    public static AnalysisSlots getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Waits until the request is the first in the queue and there is a free slot, then leases as many
+     * slots as possible, up to the wanted number and the fair share.
+     * @param wanted The number of threads the analysis would use.
+     * @param monitor The request is withdrawn when this is cancelled.
+     * @return The lease, absent if the monitor was cancelled.
+     * @throws InterruptedException Thrown when interrupted while waiting.
+     */
+    public synchronized Optional<Lease> acquire(int wanted, IProgressMonitor monitor) throws InterruptedException {
+        Object request = new Object();
+        queue.add(request);
+        try {
+            while (!monitor.isCanceled()) {
+                int slots = getCapacity();
+                int free = slots - usedSlots;
+                if (queue.peek() == request && free > 0) {
+                    int fairShare = Math.max(1, slots / (leaseCount + queue.size()));
+                    int granted = Math.min(Math.max(1, wanted), Math.min(free, fairShare));
+                    account();
+                    usedSlots += granted;
+                    ++leaseCount;
+                    return Optional.of(new Lease(granted));
+                }
+                wait(WAIT_STEP);
+            }
+            return Optional.absent();
+        } finally {
+            queue.remove(request);
+            // The next request may be served now.
+            notifyAll();
+        }
+    }
+
+    /**
+     * @param lease A lease that ends.
+     */
+    private synchronized void release(Lease lease) {
+        account();
+        usedSlots -= lease.slots;
+        --leaseCount;
+        notifyAll();
+    }
+
+    /**
+     * Adds the time since the last change to the integrals of the utilization.
+     */
+    private void account() {
+        long now = System.nanoTime();
+        usedSlotNanos += usedSlots * (now - lastChange);
+        capacityNanos += getCapacity() * (now - lastChange);
+        lastChange = now;
+    }
+
+    /**
+     * @return The number of slots, at least one.
+     */
+    public int getCapacity() {
+        return Math.max(1, capacity.getAsInt());
+    }
+
+    /**
+     * @return The number of slots leased by the running analyses.
+     */
+    public synchronized int getUsedSlots() {
+        return usedSlots;
+    }
+
+    /**
+     * @return The number of analyses waiting for slots.
+     */
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return The ratio of the leased and the available slots since the start, between 0 and 1.
+     */
+    public synchronized double getUtilization() {
+        account();
+        return capacityNanos == 0 ? 0 : Math.min(1, (double) usedSlotNanos / capacityNanos);
+    }
+
+    /**
+     * @return The configured number of slots, the number of processors if not configured.
+     */
+    private static int getConfiguredCapacity() {
+        String value = CcGlobalConfiguration.getInstance().get(ConfigTypes.ANAL_SLOTS);
+        try {
+            if (value != null && Integer.parseInt(value.trim()) > 0)
+                return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            Logger.log(IStatus.WARNING, "Invalid number of analysis slots: " + value);
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The slots leased by an analysis, given back when closed.
+     */
+    public final class Lease implements AutoCloseable {
+        private final int slots;
+        private boolean closed;
+
+        /**
+         * @param slots The number of leased slots.
+         */
+        private Lease(int slots) {
+            this.slots = slots;
+        }
+
+        /**
+         * @return The number of analyzer threads the analysis may use.
+         */
+        public int getSlots() {
+            return slots;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed)
+                    return;
+                closed = true;
+            }
+            release(this);
+        }
+    }
+}
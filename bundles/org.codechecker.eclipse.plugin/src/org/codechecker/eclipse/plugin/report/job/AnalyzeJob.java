@@ -4,25 +4,47 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.text.StrMatcher;
+import org.apache.commons.lang3.text.StrTokenizer;
 
 import org.codechecker.eclipse.plugin.Logger;
+import org.codechecker.eclipse.plugin.compilation.AnalyzedUnits;
+import org.codechecker.eclipse.plugin.compilation.CompilationDatabase;
+import org.codechecker.eclipse.plugin.compilation.CompileCommand;
+import org.codechecker.eclipse.plugin.compilation.ShardPlanner;
+import org.codechecker.eclipse.plugin.compilation.SourceFingerprinter;
 import org.codechecker.eclipse.plugin.config.CcConfigurationBase;
 import org.codechecker.eclipse.plugin.config.CodeCheckerContext;
+import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
 import org.codechecker.eclipse.plugin.config.project.CodeCheckerProject;
+import org.codechecker.eclipse.plugin.report.ResultsWatcher;
+import org.codechecker.eclipse.plugin.views.console.ConsoleFactory;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 
+import com.google.common.base.Optional;
+
 /**
  * This class represents a CodeChecker analyze command.
  *
  */
 public class AnalyzeJob extends Job {
 
+    private static final String ANALYZERS_OPTION = "--analyzers";
+    private static final int DEFAULT_ANALYZER_COUNT = 2;
+
     private CodeCheckerProject project;
     private CcConfigurationBase config;
     private Path logFile;
@@ -47,59 +69,301 @@ public class AnalyzeJob extends Job {
     @Override
     protected IStatus run(IProgressMonitor monitor) {
         Logger.log(IStatus.INFO, "Running AnalyzeJob");
+        if (config.getCodeChecker() == null) {
+            Logger.log(IStatus.ERROR, "Could not complete the analysis, there is no valid CodeChecker configured.");
+            return Status.OK_STATUS;
+        }
+        // The log of ld logger is read once, as a stream, instead of copying it. A build writing it
+        // at the same time can only cut it short, the entries before that are still analyzed.
+        Path originalLogFile = project.getLogFileLocation();
+        logFile = Paths.get(originalLogFile.toAbsolutePath().toString() + System.nanoTime());
+        CompilationDatabase database;
         try {
-            copyLogFile();
+            database = CompilationDatabase.read(originalLogFile);
         } catch (IOException e) {
-            Logger.log(IStatus.ERROR, "Couldn't copy logfile!");
+            Logger.log(IStatus.ERROR, "Couldn't read logFile! " + e.getMessage());
+            return Status.OK_STATUS;
         }
+        if (database.isTruncated())
+            Logger.log(IStatus.WARNING, "The end of the logFile couldn't be read, it is being written.");
+        Logger.log(IStatus.INFO, "Read " + database.getLoggedCount() + " logged compilations, "
+                + database.size() + " of them are unique.");
+        List<CompileCommand> commands = database.getCommands();
 
-        AtomicInteger taskCount = new AtomicInteger(0);
+        // Only the translation units that changed since the last successful analysis are analyzed, the
+        // results of the others are still in the results directory.
+        AnalyzedUnits units = readAnalyzedUnits();
+        units.setConfiguration(getConfigurationDescription());
+        if (!Files.isDirectory(project.getResultsLocation()))
+            units.clear();
+        SourceFingerprinter fingerprinter = new SourceFingerprinter();
+        Map<CompileCommand, String> changed = units.getChanged(commands, fingerprinter);
+        if (changed.isEmpty()) {
+            Logger.log(IStatus.INFO, "None of the " + commands.size()
+                    + " translation units changed since the last analysis.");
+            return Status.OK_STATUS;
+        }
+        Logger.log(IStatus.INFO, "Analyzing " + changed.size() + " of " + commands.size() + " translation units.");
 
-        // read the file
+        // The analyzer threads are leased from the budget of the workspace, shared with the analyses of
+        // the other projects.
+        Optional<AnalysisSlots.Lease> lease = acquireSlots(monitor);
+        if (!lease.isPresent()) {
+            deleteLogFile();
+            return Status.CANCEL_STATUS;
+        }
+        // The reports are parsed and shown as the plists are written, not only after the analysis.
+        Optional<ResultsWatcher> watcher = startResultsWatcher();
         try {
-            Files.lines(logFile).forEach(new Consumer<String>() {
-
-                @Override
-                public void accept(String t) {
-                    if (t.contains("\"command\":")) {
-                        taskCount.incrementAndGet();
-                    }
-                }
-            });
+            analyze(commands, changed, units, fingerprinter, lease.get().getSlots(), monitor,
+                    watcher.isPresent() || project.isWatchingResults());
+        } finally {
+            lease.get().close();
+            if (watcher.isPresent())
+                watcher.get().close();
+        }
+
+        // The console is written in batches, the end of the output shouldn't wait for the next one.
+        ConsoleFactory.flush();
+        if (ConsoleFactory.getDroppedLines() > 0)
+            Logger.log(IStatus.INFO, ConsoleFactory.getDroppedLines()
+                    + " lines were dropped from the console so far, it couldn't keep up with the output.");
+
+        deleteLogFile();
+        return Status.OK_STATUS;
+    }
+
+    /**
+     * Analyzes the changed units, the units of the open editors first, and records the analyzed ones.
+     * @param commands Every unit of the project.
+     * @param changed The changed units with their fingerprints.
+     * @param units The units analyzed so far.
+     * @param fingerprinter The fingerprinter of the analysis.
+     * @param threads The number of analyzer threads, the shards divide them.
+     * @param monitor The progress monitor of the job.
+     * @param pipelined Whether the results are parsed by a watcher during the analysis.
+     */
+    private void analyze(List<CompileCommand> commands, Map<CompileCommand, String> changed,
+            AnalyzedUnits units, SourceFingerprinter fingerprinter, int threads, IProgressMonitor monitor,
+            boolean pipelined) {
+        int analyzers = getAnalyzerCount();
+        Map<CompileCommand, Long> expected = units.getExpectedDurations(changed.keySet());
+        SubMonitor progress = SubMonitor.convert(monitor, "Starting Analysis...", changed.size() * analyzers);
+        Map<CompileCommand, Long> analyzed = new HashMap<>();
+        List<CompileCommand> rest = new ArrayList<>(changed.keySet());
+        // The units of the files open in the editors are analyzed and shown first.
+        List<CompileCommand> prioritized = Collections.emptyList();
+        if (Boolean.parseBoolean(getConfig(ConfigTypes.ANAL_PRIORITY)))
+            prioritized = ShardPlanner.getPrioritized(rest, CodeCheckerContext.getInstance().getEditorFiles(),
+                    fingerprinter);
+        if (!prioritized.isEmpty() && prioritized.size() < rest.size()) {
+            Logger.log(IStatus.INFO, "Analyzing the " + prioritized.size()
+                    + " translation units of the open editors first.");
+            analyzed.putAll(analyze(prioritized, threads, 1, expected, progress.newChild(prioritized.size()
+                    * analyzers), prioritized.size() * analyzers));
+            if (!pipelined)
+                parseResults();
+            rest.removeAll(prioritized);
+        }
+        if (!monitor.isCanceled())
+            analyzed.putAll(analyze(rest, threads, Math.min(threads, getIntConfig(ConfigTypes.ANAL_SHARDS)),
+                    expected, progress.newChild(rest.size() * analyzers), rest.size() * analyzers));
+
+        if (!analyzed.isEmpty()) {
+            Map<CompileCommand, String> done = new HashMap<>(changed);
+            done.keySet().retainAll(analyzed.keySet());
+            units.update(commands, done);
+            units.updateDurations(analyzed);
+            writeAnalyzedUnits(units);
+        }
+    }
+
+    /**
+     * Waits for the analyzer threads of the analysis, at most the configured number of them.
+     * @param monitor The progress monitor of the job.
+     * @return The leased threads, absent if the job was cancelled while waiting.
+     */
+    private Optional<AnalysisSlots.Lease> acquireSlots(IProgressMonitor monitor) {
+        AnalysisSlots slots = AnalysisSlots.getInstance();
+        int wanted = Math.max(1, getIntConfig(ConfigTypes.ANAL_THREADS));
+        if (slots.getQueueDepth() > 0 || slots.getUsedSlots() >= slots.getCapacity())
+            Logger.log(IStatus.INFO, "Waiting for analysis slots, " + slots.getQueueDepth()
+                    + " analyses are waiting already.");
+        Optional<AnalysisSlots.Lease> lease;
+        try {
+            lease = slots.acquire(wanted, monitor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.absent();
+        }
+        if (lease.isPresent())
+            Logger.log(IStatus.INFO, "Leased " + lease.get().getSlots() + " of " + wanted + " wanted analysis slots, "
+                    + slots.getUsedSlots() + " of " + slots.getCapacity() + " are used, " + slots.getQueueDepth()
+                    + " analyses are waiting, the utilization is " + Math.round(slots.getUtilization() * 100)
+                    + "%.");
+        return lease;
+    }
+
+    /**
+     * Starts watching the results directory for the time of the analysis, if the pipelined analysis is
+     * enabled, and the project doesn't watch it anyway. Every plist that was written is parsed and merged
+     * into the reports on the thread of the watcher.
+     * @return The started watcher, absent if not needed or the directory can't be watched.
+     */
+    private Optional<ResultsWatcher> startResultsWatcher() {
+        if (!Boolean.parseBoolean(getConfig(ConfigTypes.ANAL_PIPELINE)) || project.isWatchingResults())
+            return Optional.absent();
+        ResultsWatcher watcher = project.createResultsWatcher();
+        try {
+            watcher.start();
+            return Optional.of(watcher);
         } catch (IOException e) {
-            Logger.log(IStatus.ERROR, "Couldn't read logFile!");
+            Logger.log(IStatus.WARNING, "Couldn't watch the results directory, the reports are shown after "
+                    + "the analysis. " + e.getMessage());
+            return Optional.absent();
         }
+    }
+
+    /**
+     * Analyzes the units in shards, or with a single CodeChecker process.
+     * @param changed The units to be analyzed.
+     * @param threads The number of analyzer threads.
+     * @param shardCount The maximal number of shards.
+     * @param expected The expected analysis time of the units.
+     * @param monitor The progress monitor of the analysis.
+     * @param taskCount The number of analyze steps.
+     * @return The analyzed units with their analysis time.
+     */
+    private Map<CompileCommand, Long> analyze(List<CompileCommand> changed, int threads, int shardCount,
+            Map<CompileCommand, Long> expected, IProgressMonitor monitor, int taskCount) {
+        if (shardCount > 1 && changed.size() > 1 && config.getCodeChecker() != null) {
+            List<List<CompileCommand>> shards = ShardPlanner.split(changed, shardCount, expected);
+            Logger.log(IStatus.INFO, "Analyzing in " + shards.size() + " shards.");
+            return new ShardedAnalysis(config.getCodeChecker(), config, logFile.getParent(),
+                    project.getResultsLocation()).run(shards, threads, expected, monitor, taskCount);
+        }
+        return analyze(changed, threads, expected, monitor, taskCount);
+    }
 
-        monitor.beginTask("Starting Analysis...", taskCount.get() * 2);
+    /**
+     * Analyzes the units with a single CodeChecker process.
+     * @param changed The units to be analyzed.
+     * @param threads The number of analyzer threads.
+     * @param expected The expected analysis time of the units.
+     * @param monitor The progress monitor of the analysis.
+     * @param taskCount The number of analyze steps.
+     * @return The analyzed units with their analysis time, empty if the analysis failed.
+     */
+    private Map<CompileCommand, Long> analyze(Collection<CompileCommand> changed, int threads,
+            Map<CompileCommand, Long> expected, IProgressMonitor monitor, int taskCount) {
+        try {
+            CompilationDatabase.write(logFile, changed);
+        } catch (IOException e) {
+            Logger.log(IStatus.ERROR, "Couldn't write the compilation database of the changed translation units!");
+            return Collections.emptyMap();
+        }
+        String output = "";
+        long start = System.nanoTime();
         try {
-            // TODO make numberOfAnalyzers a parameter depending on the turned on analyzer
-            // engines.
-            int numberOfAnalyzers = 2;
-            config.getCodeChecker().analyze(logFile, true, monitor, taskCount.get() * numberOfAnalyzers, config);
+            output = config.getCodeChecker().analyze(logFile, true, monitor, taskCount, threads, config);
         } catch (NullPointerException e) {
             Logger.log(IStatus.ERROR, "Could not complete the analysis");
         }
+        // The analyze command returns nothing when it failed.
+        if (monitor.isCanceled() || output.isEmpty())
+            return Collections.emptyMap();
+        return ShardedAnalysis.getDurations(changed, expected,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads);
+    }
 
-        deleteLogFile();
-        return Status.OK_STATUS;
+    /**
+     * Parses the results analyzed so far, and shows them. Only the new plists are parsed.
+     */
+    private void parseResults() {
+        IProject related = project.getRelatedProject();
+        new PlistParseJob(related).parsePlistForProject(related);
+        CodeCheckerContext.getInstance().refresAsync(related);
     }
-    
-    @Override
-    protected void canceling() {
-        config.getCodeChecker().cancelAnalyze();
+
+    /**
+     * Every analyzer reports every translation unit separately, the number of them is taken from the
+     * --analyzers option. By default there are two, clangsa and clang-tidy.
+     * @return The number of analyzers run on every translation unit.
+     */
+    private int getAnalyzerCount() {
+        String options = config.get(ConfigTypes.ANAL_OPTIONS);
+        if (options == null)
+            return DEFAULT_ANALYZER_COUNT;
+        List<String> tokens = new StrTokenizer(options, StrMatcher.splitMatcher(), StrMatcher.quoteMatcher())
+                .getTokenList();
+        int index = tokens.indexOf(ANALYZERS_OPTION);
+        if (index == -1)
+            return DEFAULT_ANALYZER_COUNT;
+        int count = 0;
+        for (int i = index + 1; i < tokens.size() && !tokens.get(i).startsWith("-"); ++i)
+            ++count;
+        return Math.max(1, count);
     }
 
     /**
-     * Creates a copy of the log file created by ld logger, to avoid concurrency
-     * issues.
-     * 
-     * @throws IOException
-     *             Thrown when the copying fails.
+     * Reads a numeric configuration value.
+     * @param type The configuration key.
+     * @return The configured value, or the default one if the configuration is missing or invalid.
      */
-    private void copyLogFile() throws IOException {
-        Path originalLogFile = project.getLogFileLocation();
-        logFile = Paths.get(originalLogFile.toAbsolutePath().toString() + System.nanoTime());
-        Files.copy(originalLogFile, logFile);
+    private int getIntConfig(ConfigTypes type) {
+        String value = getConfig(type);
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            Logger.log(IStatus.WARNING, "Invalid value of " + type + ": " + value);
+        }
+        return Integer.parseInt(type.getDefaultValue());
+    }
+
+    /**
+     * @param type The configuration key.
+     * @return The configured value, or the default one if the configuration is missing.
+     */
+    private String getConfig(ConfigTypes type) {
+        String value = config.get(type);
+        return value == null ? type.getDefaultValue() : value;
+    }
+
+    /**
+     * @return The translation units analyzed so far, empty if they can't be read.
+     */
+    private AnalyzedUnits readAnalyzedUnits() {
+        try {
+            return AnalyzedUnits.read(project.getAnalyzedUnitsLocation());
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Couldn't read the analyzed translation units, analyzing all of them. "
+                    + e.getMessage());
+            return new AnalyzedUnits();
+        }
+    }
+
+    /**
+     * @param units The translation units analyzed so far.
+     */
+    private void writeAnalyzedUnits(AnalyzedUnits units) {
+        try {
+            units.write(project.getAnalyzedUnitsLocation());
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Couldn't save the analyzed translation units. " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Describes the analyzer configuration, the results of an other configuration are not reused.
+     */
+    private String getConfigurationDescription() {
+        return config.getCodeChecker().getLocation() + "\n" + config.get(ConfigTypes.ANAL_OPTIONS);
+    }
+
+    @Override
+    protected void canceling() {
+        if (config.getCodeChecker() != null)
+            config.getCodeChecker().cancelAnalyze();
     }
 
     /**
@@ -107,7 +371,7 @@ public class AnalyzeJob extends Job {
      */
     public void deleteLogFile() {
         try {
-            Files.delete(logFile);
+            Files.deleteIfExists(logFile);
         } catch (IOException e) {
             Logger.log(IStatus.ERROR, "Couldn't delete the temporary log file!");
         }
@@ -1,5 +1,12 @@
 package org.codechecker.eclipse.plugin.report.job;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -8,8 +15,14 @@ import org.eclipse.core.runtime.jobs.Job;
 
 import org.codechecker.eclipse.plugin.Logger;
 import org.codechecker.eclipse.plugin.config.CodeCheckerContext;
+import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
+import org.codechecker.eclipse.plugin.config.project.CodeCheckerProject;
+import org.codechecker.eclipse.plugin.report.PlistManifest;
 import org.codechecker.eclipse.plugin.report.PlistParser;
+import org.codechecker.eclipse.plugin.report.PlistParserTypes;
+import org.codechecker.eclipse.plugin.report.ReportSnapshot;
 import org.codechecker.eclipse.plugin.report.SearchList;
+import org.codechecker.eclipse.plugin.report.StringPool;
 
 /**
  * This {@link Job} manages the parsing of the CodeChecker Analysis results.
@@ -54,10 +67,135 @@ public class PlistParseJob extends Job{
         Logger.log(IStatus.INFO,
                 "Started Plist Parsing for project: "+project.getName());
         final PlistParser parser = new PlistParser(project);
+        parser.setParserType(getParserType(project));
+        parser.setParseThreads(getParseThreads(project));
+        CodeCheckerProject ccProject = CodeCheckerContext.getInstance().getCcProject(project);
         SearchList sl;
-        sl = parser.processResultsForProject();
+        if (ccProject != null) {
+            parser.setStringPool(ccProject.getStringPool());
+            PlistManifest manifest = ccProject.getPlistManifest();
+            Path snapshot = ccProject.getReportSnapshotLocation();
+            // On the first parse show the saved reports right away, then check them against the
+            // results directory. The results watcher may update the manifest at the same time, so the
+            // check and the load are done under its update lock.
+            boolean loaded;
+            synchronized (manifest.getUpdateLock()) {
+                loaded = manifest.size() == 0 && loadSnapshot(manifest, snapshot, ccProject.getStringPool());
+            }
+            if (loaded) {
+                CodeCheckerContext.getInstance().setReportForProject(project, manifest.getSearchList());
+                CodeCheckerContext.getInstance().refresAsync(project);
+            }
+            long generation = manifest.getGeneration();
+            sl = parser.processResultsForProject(manifest);
+            if (manifest.getGeneration() != generation)
+                saveSnapshot(manifest, snapshot);
+        } else {
+            sl = parser.processResultsForProject();
+        }
         CodeCheckerContext.getInstance().setReportForProject(project, sl);
         Logger.log(IStatus.INFO,
                 "Finished Plist Parsing for project: "+project.getName());
     }
+
+    /**
+     * Merges the given plists into the reports of the project, and shows them. Only these plists are
+     * parsed, so it is cheap enough to be called for every few plists during the analysis. The snapshot
+     * is saved by the full parse after the analysis.
+     * @param project The project of the plists.
+     * @param plists The new, changed or removed plists.
+     */
+    public static void parsePlists(IProject project, Collection<File> plists) {
+        CodeCheckerProject ccProject = CodeCheckerContext.getInstance().getCcProject(project);
+        if (ccProject == null || plists.isEmpty())
+            return;
+        PlistParser parser = new PlistParser(project);
+        parser.setParserType(getParserType(project));
+        parser.setParseThreads(getParseThreads(project));
+        parser.setStringPool(ccProject.getStringPool());
+        PlistManifest manifest = ccProject.getPlistManifest();
+        long generation = manifest.getGeneration();
+        SearchList sl = parser.processResults(plists, manifest);
+        if (manifest.getGeneration() == generation)
+            return;
+        CodeCheckerContext.getInstance().setReportForProject(project, sl);
+        CodeCheckerContext.getInstance().refresAsync(project);
+    }
+
+    /**
+     * Fills the manifest from the saved snapshot.
+     * @param manifest The empty manifest of the project.
+     * @param snapshot The snapshot file.
+     * @param pool The string pool of the project.
+     * @return True if the snapshot was loaded.
+     */
+    private static boolean loadSnapshot(PlistManifest manifest, Path snapshot, StringPool pool) {
+        if (!Files.exists(snapshot))
+            return false;
+        try {
+            PlistManifest saved = ReportSnapshot.read(snapshot, pool);
+            for (Map.Entry<File, PlistManifest.Entry> entry : saved.getEntries().entrySet()) {
+                manifest.put(entry.getKey(), entry.getValue());
+            }
+            Logger.log(IStatus.INFO, "Loaded report snapshot of " + saved.size() + " plists.");
+            return true;
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Cannot load report snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Saves the manifest, so the next startup doesn't have to parse the plists.
+     * @param manifest The up to date manifest of the project.
+     * @param snapshot The snapshot file.
+     */
+    private static void saveSnapshot(PlistManifest manifest, Path snapshot) {
+        try {
+            ReportSnapshot.write(manifest, snapshot);
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Cannot save report snapshot: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the configured plist parser of the project.
+     * @param project The project in question.
+     * @return The configured parser, or the default one if the configuration is missing or invalid.
+     */
+    private static PlistParserTypes getParserType(IProject project) {
+        String type = getConfigValue(project, ConfigTypes.PLIST_PARSER);
+        try {
+            return PlistParserTypes.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            Logger.log(IStatus.WARNING, "Unknown plist parser: " + type);
+            return PlistParserTypes.valueOf(ConfigTypes.PLIST_PARSER.getDefaultValue());
+        }
+    }
+
+    /**
+     * Reads the configured number of plist parser threads of the project.
+     * @param project The project in question.
+     * @return The configured thread count, or the default one if the configuration is invalid.
+     */
+    private static int getParseThreads(IProject project) {
+        String threads = getConfigValue(project, ConfigTypes.PLIST_THREADS);
+        try {
+            return Integer.parseInt(threads.trim());
+        } catch (NumberFormatException e) {
+            Logger.log(IStatus.WARNING, "Invalid plist parser thread count: " + threads);
+            return Integer.parseInt(ConfigTypes.PLIST_THREADS.getDefaultValue());
+        }
+    }
+
+    /**
+     * @param project The project in question.
+     * @param type The configuration key.
+     * @return The value from the current configuration of the project, or the default value if there is none.
+     */
+    private static String getConfigValue(IProject project, ConfigTypes type) {
+        CodeCheckerProject ccProject = CodeCheckerContext.getInstance().getCcProject(project);
+        String value = ccProject == null ? null : ccProject.getCurrentConfig().get(type);
+        return value == null ? type.getDefaultValue() : value;
+    }
 }
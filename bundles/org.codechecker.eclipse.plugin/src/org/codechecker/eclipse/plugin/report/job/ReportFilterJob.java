@@ -0,0 +1,46 @@
+package org.codechecker.eclipse.plugin.report.job;
+
+import org.codechecker.eclipse.plugin.report.ReportParser;
+import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
+import org.codechecker.eclipse.plugin.views.report.list.ReportListViewListener;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * This {@link Job} filters the reports for a report list view in the background, only the results are
+ * handed to the UI thread.
+ * The view is the family of the job, so a filtering that is still running for the view can be
+ * canceled, when a newer one is started.
+ */
+public class ReportFilterJob extends Job {
+
+    private final ReportListView target;
+    private final ReportParser parser;
+
+    /**
+     * @param target The view that shows the results.
+     * @param parser The configured filtering.
+     */
+    public ReportFilterJob(ReportListView target, ReportParser parser) {
+        super("Filtering CodeChecker reports");
+        this.target = target;
+        this.parser = parser;
+        setSystem(true);
+        setPriority(INTERACTIVE);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        parser.setMonitor(monitor);
+        parser.addListener(new ReportListViewListener(target, monitor));
+        parser.run();
+        return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+        return family == target;
+    }
+}
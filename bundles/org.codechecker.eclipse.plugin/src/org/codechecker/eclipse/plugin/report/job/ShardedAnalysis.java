@@ -0,0 +1,223 @@
+package org.codechecker.eclipse.plugin.report.job;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.codechecker.eclipse.plugin.Logger;
+import org.codechecker.eclipse.plugin.codechecker.ICodeChecker;
+import org.codechecker.eclipse.plugin.compilation.CompilationDatabase;
+import org.codechecker.eclipse.plugin.compilation.CompileCommand;
+import org.codechecker.eclipse.plugin.compilation.ShardPlanner;
+import org.codechecker.eclipse.plugin.config.CcConfigurationBase;
+import org.codechecker.eclipse.plugin.runtime.OutputTail;
+import org.codechecker.eclipse.plugin.runtime.SLogger;
+import org.codechecker.eclipse.plugin.runtime.ShellExecutorHelper.ProgressConsumer;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Analyzes the shards of an analysis concurrently, each with a CodeChecker process of its own, writing
+ * into a directory of its own. The plists of a finished shard are moved into the results directory of
+ * the project. The shards report to the same progress monitor and console.
+ */
+class ShardedAnalysis {
+
+    private static final String PLIST_EXTENSION = ".plist";
+    private static final String SHARD_LOG = "compile_commands.json";
+    private static final String SHARD_RESULTS = "results";
+    private static final int OUTPUT_TAIL_LINES = 100;
+
+    private final ICodeChecker codeChecker;
+    private final CcConfigurationBase config;
+    private final Path workDirectory;
+    private final Path resultsDirectory;
+
+    /**
+     * @param codeChecker Analyzes the shards.
+     * @param config The configuration being used.
+     * @param workDirectory The directories of the shards are created here.
+     * @param resultsDirectory The results directory of the project.
+     */
+    ShardedAnalysis(ICodeChecker codeChecker, CcConfigurationBase config, Path workDirectory,
+            Path resultsDirectory) {
+        this.codeChecker = codeChecker;
+        this.config = config;
+        this.workDirectory = workDirectory;
+        this.resultsDirectory = resultsDirectory;
+    }
+
+    /**
+     * Analyzes the shards, and waits for all of them. A shard is not started after the monitor is
+     * cancelled.
+     * @param shards The translation units of every shard.
+     * @param threads The number of analyzer threads, divided between the shards.
+     * @param expected The expected analysis time of the units.
+     * @param monitor The common progress monitor.
+     * @param taskCount The number of analyze steps of all the shards.
+     * @return The units of the successfully analyzed shards, with their analysis time.
+     */
+    Map<CompileCommand, Long> run(List<List<CompileCommand>> shards, int threads,
+            final Map<CompileCommand, Long> expected, final IProgressMonitor monitor, int taskCount) {
+        final int[] shardThreads = ShardPlanner.splitThreads(threads, shards.size());
+        final Consumer<String> output = new ProgressConsumer(monitor, taskCount).andThen(SLogger::consoleLog);
+        Map<CompileCommand, Long> analyzed = new HashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(shards.size(),
+                new ThreadFactoryBuilder().setNameFormat("CodeChecker shard %d").setDaemon(true).build());
+        try {
+            List<Future<Map<CompileCommand, Long>>> results = new ArrayList<>(shards.size());
+            for (int i = 0; i < shards.size(); ++i) {
+                final List<CompileCommand> shard = shards.get(i);
+                final int index = i;
+                results.add(pool.submit(new Callable<Map<CompileCommand, Long>>() {
+                    @Override
+                    public Map<CompileCommand, Long> call() throws IOException {
+                        if (monitor.isCanceled())
+                            return Collections.emptyMap();
+                        return analyze(index, shard, shardThreads[index], expected, output);
+                    }
+                }));
+            }
+            for (Future<Map<CompileCommand, Long>> result : results) {
+                try {
+                    analyzed.putAll(result.get());
+                } catch (ExecutionException e) {
+                    Logger.log(IStatus.ERROR, "Couldn't analyze a shard: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Logger.log(IStatus.WARNING, "Sharded analysis interrupted.");
+            codeChecker.cancelAnalyze();
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+        return analyzed;
+    }
+
+    /**
+     * @param index The index of the shard, for logging.
+     * @param shard The translation units of the shard.
+     * @param threads The number of analyzer threads of the shard.
+     * @param expected The expected analysis time of the units.
+     * @param output The common output consumer.
+     * @return The units of the shard with their analysis time, empty if the analysis failed.
+     * @throws IOException Thrown when the directory of the shard can't be created.
+     */
+    private Map<CompileCommand, Long> analyze(int index, List<CompileCommand> shard, int threads,
+            Map<CompileCommand, Long> expected, Consumer<String> output) throws IOException {
+        Path shardDirectory = Files.createTempDirectory(workDirectory, "shard");
+        try {
+            Path log = shardDirectory.resolve(SHARD_LOG);
+            CompilationDatabase.write(log, shard);
+            OutputTail tail = new OutputTail(OUTPUT_TAIL_LINES);
+            long start = System.nanoTime();
+            boolean success = codeChecker.analyzeShard(log, shardDirectory.resolve(SHARD_RESULTS), threads,
+                    output.andThen(tail), config);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            // Whatever was analyzed is kept, even if some units failed.
+            mergeResults(shardDirectory.resolve(SHARD_RESULTS));
+            if (!success) {
+                Logger.log(IStatus.ERROR, "Analysis of shard " + index + " (" + shard.size()
+                        + " translation units) failed, the last lines of the output:\n" + tail);
+                return Collections.emptyMap();
+            }
+            Logger.log(IStatus.INFO, "Analyzed shard " + index + " (" + shard.size() + " translation units, "
+                    + threads + " threads) in " + elapsed + " ms.");
+            return getDurations(shard, expected, elapsed, threads);
+        } finally {
+            deleteRecursively(shardDirectory);
+        }
+    }
+
+    /**
+     * Moves the plists of a shard into the results directory, replacing the earlier results of the
+     * same translation units.
+     * @param shardResults The results directory of the shard.
+     * @throws IOException Thrown when the results directory can't be created.
+     */
+    private void mergeResults(Path shardResults) throws IOException {
+        if (!Files.isDirectory(shardResults))
+            return;
+        Files.createDirectories(resultsDirectory);
+        List<Path> plists;
+        try (Stream<Path> files = Files.list(shardResults)) {
+            plists = files.filter(p -> p.getFileName().toString().endsWith(PLIST_EXTENSION))
+                    .collect(Collectors.toList());
+        }
+        for (Path plist : plists) {
+            Path target = resultsDirectory.resolve(plist.getFileName());
+            try {
+                // Atomic, so the plist parser never sees a half written file.
+                Files.move(plist, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(plist, target, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                Logger.log(IStatus.ERROR, "Couldn't move " + plist + " into the results directory.");
+            }
+        }
+    }
+
+    /**
+     * Divides the time of an analysis between its units, in proportion with their expected time. The
+     * time is multiplied with the number of threads, so the times of analyses with different number of
+     * threads can be compared.
+     * @param commands The analyzed units.
+     * @param expected The expected analysis time of the units.
+     * @param elapsed The time of the analysis in milliseconds.
+     * @param threads The number of analyzer threads.
+     * @return The analysis time of every unit.
+     */
+    static Map<CompileCommand, Long> getDurations(Collection<CompileCommand> commands,
+            Map<CompileCommand, Long> expected, long elapsed, int threads) {
+        long total = 0;
+        for (CompileCommand command : commands)
+            total += getExpected(expected, command);
+        Map<CompileCommand, Long> durations = new HashMap<>();
+        for (CompileCommand command : commands)
+            durations.put(command, Math.max(1, elapsed * threads * getExpected(expected, command) / total));
+        return durations;
+    }
+
+    /**
+     * @param expected The expected analysis times.
+     * @param command A translation unit.
+     * @return The expected analysis time of the unit, 1 if unknown.
+     */
+    private static long getExpected(Map<CompileCommand, Long> expected, CompileCommand command) {
+        Long duration = expected.get(command);
+        return duration == null ? 1 : Math.max(1, duration);
+    }
+
+    /**
+     * @param directory The directory to be deleted with its content.
+     */
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList()))
+                Files.deleteIfExists(path);
+        } catch (IOException e) {
+            Logger.log(IStatus.WARNING, "Couldn't delete " + directory + ": " + e.getMessage());
+        }
+    }
+}
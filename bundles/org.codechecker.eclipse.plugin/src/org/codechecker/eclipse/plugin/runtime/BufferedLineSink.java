@@ -0,0 +1,103 @@
+package org.codechecker.eclipse.plugin.runtime;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Collects lines and hands them over in batches, at most once in every flush interval, from a
+ * background thread. The lines are kept in a bounded buffer, when the producer is faster than that, the
+ * oldest lines are dropped, and only their number is written out.
+ *
+ * Used for the console, so a chatty analysis doesn't flood the UI thread with a write for every line.
+ */
+public class BufferedLineSink implements Consumer<String> {
+
+    private final int capacity;
+    private final long flushInterval;
+    private final Consumer<String> target;
+    private final ArrayDeque<String> lines;
+    private final ScheduledExecutorService flusher;
+    // Keeps the batches in order, when an explicit flush and a scheduled one overlap.
+    private final Object deliveryLock = new Object();
+    private boolean flushScheduled;
+    private long droppedSinceFlush;
+    private long dropped;
+
+    /**
+     * @param capacity The number of lines kept between two flushes.
+     * @param flushInterval The time between two flushes in milliseconds.
+     * @param target Gets the lines of a batch, joined by new lines.
+     */
+    public BufferedLineSink(int capacity, long flushInterval, Consumer<String> target) {
+        this.capacity = capacity;
+        this.flushInterval = flushInterval;
+        this.target = target;
+        this.lines = new ArrayDeque<>(capacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("CodeChecker line sink %d").setDaemon(true).build());
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        if (lines.size() >= capacity) {
+            lines.pollFirst();
+            ++droppedSinceFlush;
+            ++dropped;
+        }
+        lines.addLast(line);
+        if (!flushScheduled && !flusher.isShutdown()) {
+            flushScheduled = true;
+            flusher.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, flushInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Hands the collected lines over right away.
+     */
+    public void flush() {
+        synchronized (deliveryLock) {
+            String batch;
+            synchronized (this) {
+                flushScheduled = false;
+                if (lines.isEmpty() && droppedSinceFlush == 0)
+                    return;
+                StringBuilder sb = new StringBuilder();
+                if (droppedSinceFlush > 0)
+                    sb.append("... ").append(droppedSinceFlush).append(" lines dropped ...\n");
+                for (String line : lines) {
+                    sb.append(line).append('\n');
+                }
+                lines.clear();
+                droppedSinceFlush = 0;
+                batch = sb.toString();
+            }
+            // Outside of the lock of the buffer, the producers are not blocked by the target.
+            target.accept(batch);
+        }
+    }
+
+    /**
+     * @return The number of lines dropped since the sink was created.
+     */
+    public synchronized long getDroppedLines() {
+        return dropped;
+    }
+
+    /**
+     * Flushes the remaining lines and stops the background thread.
+     */
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+}
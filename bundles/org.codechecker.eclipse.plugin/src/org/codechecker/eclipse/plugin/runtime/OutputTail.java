@@ -0,0 +1,55 @@
+package org.codechecker.eclipse.plugin.runtime;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Keeps only the last lines of a process output, for error reporting. Long running commands can print
+ * hundreds of megabytes, which should not be kept in memory.
+ */
+public class OutputTail implements Consumer<String> {
+
+    private final int maxLines;
+    private final ArrayDeque<String> lines;
+    private long dropped;
+
+    /**
+     * @param maxLines The number of lines kept.
+     */
+    public OutputTail(int maxLines) {
+        this.maxLines = maxLines;
+        this.lines = new ArrayDeque<>(maxLines);
+    }
+
+    @Override
+    public synchronized void accept(String line) {
+        if (maxLines <= 0) {
+            ++dropped;
+            return;
+        }
+        if (lines.size() == maxLines) {
+            lines.removeFirst();
+            ++dropped;
+        }
+        lines.addLast(line);
+    }
+
+    /**
+     * @return The number of lines that are no longer kept.
+     */
+    public synchronized long getDroppedLines() {
+        return dropped;
+    }
+
+    /**
+     * @return The kept lines, each terminated by a new line.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (String line : lines) {
+            sb.append(line).append('\n');
+        }
+        return sb.toString();
+    }
+}
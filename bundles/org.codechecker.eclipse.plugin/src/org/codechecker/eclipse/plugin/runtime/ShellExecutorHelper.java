@@ -1,9 +1,16 @@
 package org.codechecker.eclipse.plugin.runtime;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.List;
 import java.util.Map;
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.commons.exec.CommandLine;
 import org.apache.commons.exec.DefaultExecutor;
@@ -16,20 +23,33 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.annotation.Nullable;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 
 public class ShellExecutorHelper {
 
     private static final int DEFAULT_TIMEOUT = 1000; // in milliseconds
     private static final String WRAP_CHARACTER = "\"";
+    private static final int OUTPUT_TAIL_LINES = 1000;
+    private static final long PROGRESS_INTERVAL = 100; // in milliseconds
 
     private Executor ec;
+    // The last process started directly, without bash.
+    private volatile Process process;
     final Map<String, String> environment;
 
     public ShellExecutorHelper(Map<String, String> environment) {
         this.environment = environment;
     }
 
+    /**
+     * @return A new helper with the same environment, for running a command concurrently with the
+     *         commands of this one. It's cancelled separately.
+     */
+    public ShellExecutorHelper copy() {
+        return new ShellExecutorHelper(environment);
+    }
+
     /**
      * Executes the given bash script with a one sec time limit and returns it's first output line
      * from STDOUT.
@@ -103,25 +123,144 @@ public class ShellExecutorHelper {
 
     /**
      * Job {@link IProgressMonitor} compatible version of the standard
-     * {@link #waitReturnOutput(String, Map, boolean) waitReturnOutput} method.
+     * {@link #waitReturnOutput(String, Map, boolean) waitReturnOutput} method. The output is streamed, only
+     * its last {@value #OUTPUT_TAIL_LINES} lines are kept and returned.
      * @param cmd Bash script, executed with bash -c "{script}".
      * @param substitutionMap A <String, File> map for substituting the paths in the commands. use '${FILE}' for full
      * compatibility.
      * @param logToConsole If true the execution log will appear on console log.
      * @param monitor The progress monitor that can be incremented.
      * @param taskCount The number of separate jobs.
-     * @return The process return value as a String wrapped in an @link {@link Optional}.
+     * @return The last lines of the output as a String wrapped in an @link {@link Optional}, absent if the
+     * script failed.
+     */
+    public Optional<String> progressableWaitReturnOutput(final String cmd,
+            @Nullable final Map<String, File> substitutionMap, boolean logToConsole, IProgressMonitor monitor,
+            int taskCount) {
+        return progressableWaitReturnOutput(cmd, logToConsole, monitor, taskCount,
+                new Function<Consumer<String>, Boolean>() {
+                    @Override
+                    public Boolean apply(Consumer<String> consumer) {
+                        return streamOutput(cmd, substitutionMap, consumer);
+                    }
+                });
+    }
+
+    /**
+     * Argument vector version of {@link #progressableWaitReturnOutput(String, Map, boolean, IProgressMonitor, int)
+     * progressableWaitReturnOutput}, the command is started directly, without bash.
+     * @param argv The executable and its arguments, passed as they are.
+     * @param logToConsole If true the execution log will appear on console log.
+     * @param monitor The progress monitor that can be incremented.
+     * @param taskCount The number of separate jobs.
+     * @return The last lines of the output as a String wrapped in an @link {@link Optional}, absent if the
+     * command failed.
+     */
+    public Optional<String> progressableWaitReturnOutput(final List<String> argv, boolean logToConsole,
+            IProgressMonitor monitor, int taskCount) {
+        return progressableWaitReturnOutput(Joiner.on(' ').join(argv), logToConsole, monitor, taskCount,
+                new Function<Consumer<String>, Boolean>() {
+                    @Override
+                    public Boolean apply(Consumer<String> consumer) {
+                        return streamOutput(argv, consumer);
+                    }
+                });
+    }
+
+    /**
+     * Runs a command with the progress, console and tail consumers.
+     * @param description The command for the error log.
+     * @param logToConsole If true the execution log will appear on console log.
+     * @param monitor The progress monitor that can be incremented.
+     * @param taskCount The number of separate jobs.
+     * @param runner Runs the command with the given consumer, returns true if successful.
+     * @return The last lines of the output, absent if the command failed.
+     */
+    private Optional<String> progressableWaitReturnOutput(String description, boolean logToConsole,
+            IProgressMonitor monitor, int taskCount, Function<Consumer<String>, Boolean> runner) {
+        OutputTail tail = new OutputTail(OUTPUT_TAIL_LINES);
+        Consumer<String> consumer = new ProgressConsumer(monitor, taskCount).andThen(tail);
+        if (logToConsole)
+            consumer = consumer.andThen(SLogger::consoleLog);
+        if (runner.apply(consumer))
+            return Optional.of(tail.toString());
+        SLogger.log(LogI.ERROR, "Command failed: " + description + ", the last lines of the output:\n" + tail);
+        return Optional.absent();
+    }
+
+    /**
+     * Argument vector version of {@link #waitReturnOutput(String, Map, boolean) waitReturnOutput}, the command
+     * is started directly, without bash, so there's no quoting to get right.
+     * @param argv The executable and its arguments, passed as they are.
+     * @param logToConsole If true the execution log will appear on console log.
+     * @return The output in an Optional wrapper, absent if the command failed.
+     */
+    public Optional<String> waitReturnOutput(List<String> argv, boolean logToConsole) {
+        final StringBuilder output = new StringBuilder();
+        Consumer<String> consumer = new Consumer<String>() {
+            @Override
+            public void accept(String line) {
+                output.append(line).append('\n');
+            }
+        };
+        if (logToConsole)
+            consumer = consumer.andThen(SLogger::consoleLog);
+        if (streamOutput(argv, consumer))
+            return Optional.of(output.toString());
+        return Optional.absent();
+    }
+
+    /**
+     * Executes the given bash script without time limit, and hands every output line to the consumer as
+     * soon as it's read. Nothing of the output is kept, it's up to the consumer.
+     * @param cmd Bash script, executed with bash -c "{script}".
+     * @param substitutionMap A <String, File> map for substituting the paths in the commands. use '${FILE}' for full
+     * compatibility.
+     * @param lineConsumer Called with every line, on the thread pumping the output.
+     * @return true if successful.
      */
-    public Optional<String> progressableWaitReturnOutput(String cmd, @Nullable Map<String, File> substitutionMap,
-            boolean logToConsole, IProgressMonitor monitor, int taskCount) {
+    public boolean streamOutput(String cmd, @Nullable Map<String, File> substitutionMap,
+            Consumer<String> lineConsumer) {
         ec = build();
         try {
-            AllLineReader olr = new ProgressableAllLineReader(logToConsole, monitor, taskCount);
-            ec.setStreamHandler(new PumpStreamHandler(olr));
+            ec.setStreamHandler(new PumpStreamHandler(new LineReader(lineConsumer)));
             ec.execute(buildScriptCommandLine(cmd, substitutionMap), environment);
-            return Optional.of(olr.getOutput());
+            return true;
         } catch (IOException e) {
-            return Optional.absent();
+            return false;
+        }
+    }
+
+    /**
+     * Starts the command directly, without time limit, and hands every output line (of STDOUT and STDERR)
+     * to the consumer as soon as it's read.
+     * @param argv The executable and its arguments, passed as they are.
+     * @param lineConsumer Called with every line, on the calling thread.
+     * @return true if the command exited with 0.
+     */
+    public boolean streamOutput(List<String> argv, Consumer<String> lineConsumer) {
+        if (argv.isEmpty())
+            return false;
+        ProcessBuilder builder = new ProcessBuilder(argv).redirectErrorStream(true);
+        builder.environment().clear();
+        builder.environment().putAll(environment);
+        try {
+            process = builder.start();
+            process.getOutputStream().close();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(),
+                    Charset.defaultCharset()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineConsumer.accept(line);
+                }
+            }
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
@@ -181,7 +320,11 @@ public class ShellExecutorHelper {
     }
 
     public void cancel() {
-        ec.getWatchdog().destroyProcess();
+        Process started = process;
+        if (started != null)
+            started.destroy();
+        if (ec != null)
+            ec.getWatchdog().destroyProcess();
     }
 
     class PidObject {
@@ -227,39 +370,55 @@ public class ShellExecutorHelper {
     }
 
     /**
-     * Extension of the standard {@link AllLineReader}, added {@link IProgressMonitor} as member.
-     *
+     * Hands the lines to a consumer, without keeping them.
      */
-    class ProgressableAllLineReader extends AllLineReader {
-
-        private IProgressMonitor submonitor;
+    class LineReader extends LogOutputStream {
+        private final Consumer<String> consumer;
 
         /**
-         * Constructor.
+         * @param consumer Called with every line.
          */
-        public ProgressableAllLineReader() {
-            super();
+        LineReader(Consumer<String> consumer) {
+            this.consumer = consumer;
         }
 
+        @Override
+        protected void processLine(String s, int i) {
+            consumer.accept(s);
+        }
+    }
+
+    /**
+     * Shows the lines as the task name of an {@link IProgressMonitor}, and increments it on every
+     * successfully finished job. The task name is only updated once in every
+     * {@value #PROGRESS_INTERVAL} milliseconds, every update reaches the UI thread. Several commands
+     * running concurrently can report to the same instance.
+     */
+    public static class ProgressConsumer implements Consumer<String> {
+
+        private final IProgressMonitor submonitor;
+        private long lastUpdate;
+
         /**
-         *
-         * @param ltc Log to Console - If true the execution log will appear on console log.
          * @param monitor The progress monitor that can be incremented.
          * @param taskCount The number of separate jobs.
          */
-        public ProgressableAllLineReader(boolean ltc, IProgressMonitor monitor, int taskCount) {
-            super(ltc);
+        public ProgressConsumer(IProgressMonitor monitor, int taskCount) {
             submonitor = SubMonitor.convert(monitor, taskCount);
+            lastUpdate = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL);
         }
 
         @Override
-        protected void processLine(String s, int i) {
-            submonitor.setTaskName(s);
+        public synchronized void accept(String s) {
+            long now = System.nanoTime();
+            if (now - lastUpdate >= TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL)) {
+                submonitor.setTaskName(s);
+                lastUpdate = now;
+            }
             int pos = s.indexOf("successfully");
             if (pos != -1) {
                 submonitor.worked(1);
             }
-            super.processLine(s, i);
         }
     }
 
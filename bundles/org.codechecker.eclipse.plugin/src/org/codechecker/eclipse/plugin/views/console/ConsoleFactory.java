@@ -1,5 +1,8 @@
 package org.codechecker.eclipse.plugin.views.console;
 
+import java.util.function.Consumer;
+
+import org.codechecker.eclipse.plugin.runtime.BufferedLineSink;
 import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
@@ -12,19 +15,53 @@ import org.eclipse.ui.console.MessageConsoleStream;
 
 public class ConsoleFactory implements IConsoleFactory{
 
+    private static final int BUFFERED_LINES = 10000;
+    private static final long FLUSH_INTERVAL = 200; // in milliseconds
+
     private static MessageConsole console;
+    private static MessageConsoleStream stream;
+    // The lines are written to the console in batches, from a background thread.
+    private static final BufferedLineSink SINK = new BufferedLineSink(BUFFERED_LINES, FLUSH_INTERVAL,
+            new Consumer<String>() {
+                @Override
+                public void accept(String batch) {
+                    getStream().print(batch);
+                }
+            });
 
-    private static MessageConsole getConsole() {
+    private static synchronized MessageConsole getConsole() {
         if(console == null) {
             console = new MessageConsole("CodeChecker Console", null);
         }
         return console;
     }
 
+    /**
+     * @return The one stream used for every write to the console.
+     */
+    private static synchronized MessageConsoleStream getStream() {
+        if (stream == null) {
+            stream = getConsole().newMessageStream();
+        }
+        return stream;
+    }
+
     public static void consoleWrite(String msg) {
-        console = getConsole();
-        MessageConsoleStream out = console.newMessageStream();
-        out.println(msg);
+        SINK.accept(msg);
+    }
+
+    /**
+     * Writes the buffered lines to the console right away.
+     */
+    public static void flush() {
+        SINK.flush();
+    }
+
+    /**
+     * @return The number of lines that weren't written to the console, because they came too fast.
+     */
+    public static long getDroppedLines() {
+        return SINK.getDroppedLines();
     }
 
     public static void setActiveConsole() {
@@ -36,7 +73,7 @@ public class ConsoleFactory implements IConsoleFactory{
     
     @Override
     public void openConsole() {
-        console = getConsole();
+        MessageConsole console = getConsole();
         if (console != null) {
             IConsoleManager manager = ConsolePlugin.getDefault().getConsoleManager();
             IConsole[] existing = manager.getConsoles();
@@ -7,6 +7,7 @@ import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.ui.part.*;
 import org.eclipse.jface.viewers.*;
 import org.eclipse.jface.action.*;
@@ -31,6 +32,7 @@ import org.codechecker.eclipse.plugin.config.filter.FilterConfiguration;
 import org.codechecker.eclipse.plugin.views.report.list.action.NewInstanceAction;
 import org.codechecker.eclipse.plugin.views.report.list.action.ShowFilterConfigurationDialog;
 import org.codechecker.eclipse.plugin.views.report.list.action.showas.CheckerGroupAction;
+import org.codechecker.eclipse.plugin.views.report.list.action.showas.CheckerGroupLazyAction;
 import org.codechecker.eclipse.plugin.views.report.list.action.showas.CheckerTreeAction;
 import org.codechecker.eclipse.plugin.views.report.list.provider.content.TreeCheckerContentProvider;
 import org.codechecker.eclipse.plugin.views.report.list.provider.label.BasicViewLabelProvider;
@@ -43,6 +45,7 @@ public class ReportListView extends ViewPart {
     FilterConfiguration activeConfiguration = new FilterConfiguration();
     Optional<SearchList> reportList = Optional.<SearchList>absent();
     private TreeViewer viewer;
+    private Label summary;
     private boolean viewerRefresh = true;
     private Composite parent;
     private String currentFilename;
@@ -58,7 +61,13 @@ public class ReportListView extends ViewPart {
 
         parent.setLayout(new GridLayout(1, true));
 
-        viewer = new TreeViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+        summary = new Label(parent, SWT.NONE);
+        summary.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        updateSummary(null);
+
+        // Virtual, so a lazy content provider can be used for the big report lists.
+        viewer = new TreeViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.VIRTUAL);
+        viewer.setUseHashlookup(true);
         viewer.setContentProvider(new TreeCheckerContentProvider(this));
         viewer.setLabelProvider(new BasicViewLabelProvider(this));
         viewer.setInput(new EmptyModel());
@@ -127,6 +136,7 @@ public class ReportListView extends ViewPart {
         manager.add(new NewInstanceAction(new ReportListViewCustom()));
         MenuManager displayTypeMenu = new MenuManager("Show as", null);
         displayTypeMenu.add(new CheckerGroupAction(this, false));
+        displayTypeMenu.add(new CheckerGroupLazyAction(this, false));
         displayTypeMenu.add(new CheckerTreeAction(this, true));
         manager.add(displayTypeMenu);
     }
@@ -163,10 +173,9 @@ public class ReportListView extends ViewPart {
                     return;
                 }
 
-                final ITreeContentProvider provider =
-                        (ITreeContentProvider) viewer.getContentProvider();
-
-                if (!provider.hasChildren(sel)) {
+                // A lazy content provider can't tell, expanding a leaf does nothing anyway.
+                if (viewer.getContentProvider() instanceof ITreeContentProvider &&
+                        !((ITreeContentProvider) viewer.getContentProvider()).hasChildren(sel)) {
                     return;
                 }
 
@@ -223,20 +232,39 @@ public class ReportListView extends ViewPart {
     }
 
     public void changeModel(final SearchList root) {
-        if (this.reportList.orNull() != root) {
-            this.reportList = Optional.of(root);
-            Display.getDefault().asyncExec(new Runnable() {
-                @Override
-                public void run() {
-                	viewer.setInput(root);
-                }
-            });
-        }
+        // The reports of a project are updated in place, so the same list is set again too, which
+        // drops the copies cached by the content providers.
+        this.reportList = Optional.of(root);
+        Display.getDefault().asyncExec(new Runnable() {
+            @Override
+            public void run() {
+                viewer.setInput(root);
+                updateSummary(root);
+            }
+        });
     }
 
     public void clearModel() {
         this.reportList = Optional.absent();
         viewer.setInput(new EmptyModel());
+        updateSummary(null);
+    }
+
+    /**
+     * Shows the number of reports, checkers and files above the tree. The counts are kept by the model,
+     * nothing is counted here.
+     * @param root The shown model, or null if there is none.
+     */
+    private void updateSummary(SearchList root) {
+        if (summary.isDisposed())
+            return;
+        if (root == null) {
+            summary.setText("No reports");
+        } else {
+            summary.setText(root.getRecordCount() + " reports, " + root.getCheckers().size() + " checkers, "
+                    + root.getFileCount() + " files");
+        }
+        summary.getParent().layout();
     }
 
     public void refresh(Object parent) {
@@ -247,7 +275,7 @@ public class ReportListView extends ViewPart {
         return reportList;
     }
 
-    public void setProviders(LabelProvider labelProvider, ITreeContentProvider contentProvider) {
+    public void setProviders(LabelProvider labelProvider, IContentProvider contentProvider) {
         viewer.setContentProvider(contentProvider);
         viewer.setLabelProvider(labelProvider);
     }
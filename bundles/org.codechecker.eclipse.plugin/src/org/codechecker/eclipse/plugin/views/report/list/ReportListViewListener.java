@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Collections;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.swt.widgets.Display;
 
 import com.google.common.base.Optional;
@@ -20,9 +21,15 @@ public class ReportListViewListener implements SearchListener {
 
 
     private final ReportListView target;
+    private final IProgressMonitor monitor;
 
-    public ReportListViewListener(ReportListView target) {
+    /**
+     * @param target The view that shows the results.
+     * @param monitor Results of a canceled filtering are not shown.
+     */
+    public ReportListViewListener(ReportListView target, IProgressMonitor monitor) {
         this.target = target;
+        this.monitor = monitor;
     }
 
     @Override
@@ -51,21 +58,28 @@ public class ReportListViewListener implements SearchListener {
     @Override
     public void onPartsArrived(SearchList sl) {    
     	// append insted of replace model?
-    	target.changeModel(sl);
-        Display.getDefault().syncExec(new Runnable() {
-            @Override
-            public void run() {
-                target.refresh(null);
-            }
-        });
+        show(sl);
     }
 
     @Override
     public void onTotalCountAvailable(SearchList sl, int arg2) {
-    	target.changeModel(sl);
+        show(sl);
+    }
+
+    /**
+     * Shows the results in the view. Called from the filtering job, the model is changed on the UI thread,
+     * where a newer filtering also gets started, so a canceled one can't overwrite its results.
+     * @param sl The results to be shown.
+     */
+    private void show(final SearchList sl) {
+        // The hierarchy of the checkers is built here, not on the UI thread.
+        sl.getCheckerTree();
         Display.getDefault().syncExec(new Runnable() {
             @Override
             public void run() {
+                if (monitor.isCanceled())
+                    return;
+                target.changeModel(sl);
                 target.refresh(null);
             }
         });
@@ -0,0 +1,22 @@
+package org.codechecker.eclipse.plugin.views.report.list.action.showas;
+
+import org.eclipse.jface.action.IAction;
+
+import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
+import org.codechecker.eclipse.plugin.views.report.list.provider.content.LazyCheckerGroupContentProvider;
+import org.codechecker.eclipse.plugin.views.report.list.provider.label.BasicViewLabelProvider;
+
+public class CheckerGroupLazyAction extends TreeAwareAction {
+
+    public CheckerGroupLazyAction(ReportListView listView, boolean checked) {
+        super(listView, "Group by checkers (lazy)", IAction.AS_RADIO_BUTTON, checked);
+    }
+
+    @Override
+    public void run() {
+        if (isChecked()) {
+            listView.setProviders(new BasicViewLabelProvider(listView), new
+                    LazyCheckerGroupContentProvider(listView));
+        }
+    }
+}
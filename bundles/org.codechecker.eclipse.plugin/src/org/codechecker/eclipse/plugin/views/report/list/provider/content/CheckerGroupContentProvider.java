@@ -7,8 +7,6 @@ import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.Viewer;
 
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
 
 import org.codechecker.eclipse.plugin.report.BugPathItem;
 import org.codechecker.eclipse.plugin.report.ProblemInfo;
@@ -16,7 +14,7 @@ import org.codechecker.eclipse.plugin.report.ReportInfo;
 import org.codechecker.eclipse.plugin.report.SearchList;
 import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
 
-public class CheckerGroupContentProvider implements ITreeContentProvider {
+public class CheckerGroupContentProvider implements ITreeContentProvider, ReportCountProvider {
 
     private final ReportListView reportListView;
 
@@ -68,13 +66,13 @@ public class CheckerGroupContentProvider implements ITreeContentProvider {
         	ReportInfo ri = (ReportInfo) parentElement;
         	Optional<ProblemInfo> bp = ri.getChildren();
         	if (bp != null && bp.isPresent()) {
-                ArrayList<BugPathItem> result = new ArrayList<>(bp.get().getItems());
-                Iterables.removeIf(result, new Predicate<BugPathItem>() {
-                    @Override
-                    public boolean apply(BugPathItem pi) {
-                        return "".equals(pi.getMessage());
-                    }
-                });
+                // The items are only created here, when the report gets expanded.
+                ProblemInfo path = bp.get();
+                ArrayList<BugPathItem> result = new ArrayList<>(path.size());
+                for (int i = 0; i < path.size(); ++i) {
+                    if (!"".equals(path.getMessage(i)))
+                        result.add(path.getItem(i));
+                }
                 return result.toArray();
             }
         }
@@ -90,4 +88,9 @@ public class CheckerGroupContentProvider implements ITreeContentProvider {
         return false;
     }
 
+    @Override
+    public int getReportCount(String checker) {
+        Optional<SearchList> sl = this.reportListView.getReportList();
+        return sl.isPresent() ? sl.get().getReportCount(checker) : 0;
+    }
 }
@@ -0,0 +1,158 @@
+package org.codechecker.eclipse.plugin.views.report.list.provider.content;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import org.codechecker.eclipse.plugin.report.ProblemInfo;
+import org.codechecker.eclipse.plugin.report.ReportInfo;
+import org.codechecker.eclipse.plugin.report.SearchList;
+import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
+
+/**
+ * Lazy version of the {@link CheckerGroupContentProvider}, for a viewer created with SWT.VIRTUAL.
+ *
+ * The viewer asks only for the rows that become visible, so expanding a checker with a lot of
+ * reports doesn't create an item for every report. The reports of a checker are copied into a list
+ * once, when the checker is first expanded, to have indexed access to them.
+ */
+public class LazyCheckerGroupContentProvider implements ILazyTreeContentProvider, ReportCountProvider {
+
+    private final ReportListView reportListView;
+    private TreeViewer viewer;
+    private ImmutableList<String> checkers;
+    private final Map<String, ImmutableList<ReportInfo>> reports = new HashMap<>();
+    private final Map<ReportInfo, int[]> bugPathItems = new HashMap<>();
+
+    public LazyCheckerGroupContentProvider(ReportListView reportListView) {
+        this.reportListView = reportListView;
+    }
+
+    @Override
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        this.viewer = (TreeViewer) viewer;
+        checkers = null;
+        reports.clear();
+        bugPathItems.clear();
+    }
+
+    @Override
+    public void dispose() {
+        reports.clear();
+        bugPathItems.clear();
+    }
+
+    @Override
+    public void updateElement(Object parent, int index) {
+        Object child = null;
+        int childCount = 0;
+        if (parent instanceof SearchList) {
+            String checker = getCheckers().get(index);
+            child = checker;
+            childCount = getReports(checker).size();
+        } else if (parent instanceof String) {
+            ReportInfo report = getReports((String) parent).get(index);
+            child = report;
+            childCount = getBugPathItems(report).length;
+        } else if (parent instanceof ReportInfo) {
+            ReportInfo report = (ReportInfo) parent;
+            child = report.getChildren().get().getItem(getBugPathItems(report)[index]);
+        }
+        if (child == null)
+            return;
+        viewer.replace(parent, index, child);
+        viewer.setChildCount(child, childCount);
+    }
+
+    @Override
+    public void updateChildCount(Object element, int currentChildCount) {
+        int count = 0;
+        if (element instanceof SearchList) {
+            count = getCheckers().size();
+        } else if (element instanceof String) {
+            count = getReports((String) element).size();
+        } else if (element instanceof ReportInfo) {
+            count = getBugPathItems((ReportInfo) element).length;
+        }
+        if (count != currentChildCount)
+            viewer.setChildCount(element, count);
+    }
+
+    @Override
+    public Object getParent(Object element) {
+        if (element instanceof String) {
+            return this.reportListView.getReportList().orNull();
+        }
+
+        if (element instanceof ReportInfo) {
+            return ((ReportInfo) element).getCheckerId();
+        }
+
+        return null;
+    }
+
+    @Override
+    public int getReportCount(String checker) {
+        Optional<SearchList> sl = this.reportListView.getReportList();
+        return sl.isPresent() ? sl.get().getReportCount(checker) : 0;
+    }
+
+    /**
+     * @return The checkers of the current model.
+     */
+    private ImmutableList<String> getCheckers() {
+        if (checkers == null) {
+            Optional<SearchList> sl = this.reportListView.getReportList();
+            checkers = sl.isPresent() ? ImmutableList.copyOf(sl.get().getCheckers()) : ImmutableList.<String>of();
+        }
+        return checkers;
+    }
+
+    /**
+     * @param checker The checker in question.
+     * @return The reports of the checker, in the order of the model.
+     */
+    private ImmutableList<ReportInfo> getReports(String checker) {
+        ImmutableList<ReportInfo> result = reports.get(checker);
+        if (result == null) {
+            Optional<SearchList> sl = this.reportListView.getReportList();
+            result = sl.isPresent() ? ImmutableList.copyOf(sl.get().getReportsFor(checker))
+                    : ImmutableList.<ReportInfo>of();
+            reports.put(checker, result);
+        }
+        return result;
+    }
+
+    /**
+     * The bug path items without message are not shown.
+     * @param report The report in question.
+     * @return The indices of the shown bug path items.
+     */
+    private int[] getBugPathItems(ReportInfo report) {
+        int[] result = bugPathItems.get(report);
+        if (result == null) {
+            List<Integer> shown = new ArrayList<>();
+            Optional<ProblemInfo> bp = report.getChildren();
+            if (bp != null && bp.isPresent()) {
+                for (int i = 0; i < bp.get().size(); ++i) {
+                    if (!"".equals(bp.get().getMessage(i)))
+                        shown.add(i);
+                }
+            }
+            result = new int[shown.size()];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = shown.get(i);
+            }
+            bugPathItems.put(report, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,14 @@
+package org.codechecker.eclipse.plugin.views.report.list.provider.content;
+
+/**
+ * Content providers that know how many reports are shown under a checker node, so the labels can show
+ * the counts without walking the tree.
+ */
+public interface ReportCountProvider {
+
+    /**
+     * @param checker A checker node of the tree.
+     * @return The number of reports under the node, 0 if the node is not in the model.
+     */
+    int getReportCount(String checker);
+}
@@ -1,8 +1,7 @@
 package org.codechecker.eclipse.plugin.views.report.list.provider.content;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collection;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.codechecker.eclipse.plugin.report.BugPathItem;
@@ -14,10 +13,9 @@ import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.Viewer;
 
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
 
-public class TreeCheckerContentProvider implements ITreeContentProvider {
+public class TreeCheckerContentProvider implements ITreeContentProvider, ReportCountProvider {
 
     private final ReportListView reportListView;
 
@@ -28,13 +26,11 @@ public class TreeCheckerContentProvider implements ITreeContentProvider {
     @Override
     public Object getParent(Object child) {
         if (child instanceof String) {
-            String checker = (String) child;
-            for (String s : this.reportListView.getReportList().get().getCheckers()) {
-                if (checker.startsWith(s + ".")) {
-                    return s;
-                }
-            }
-            return this.reportListView.getReportList().orNull();
+            Optional<SearchList> sl = this.reportListView.getReportList();
+            if (!sl.isPresent())
+                return null;
+            Optional<String> parent = sl.get().getCheckerTree().getParent((String) child);
+            return parent.isPresent() ? parent.get() : sl.get();
         }
 
         if (child instanceof ReportInfo) {
@@ -63,44 +59,34 @@ public class TreeCheckerContentProvider implements ITreeContentProvider {
     public Object[] getChildren(Object parentElement) {
 
         if (parentElement instanceof SearchList) {
-            Set<String> tops = new HashSet<>();
-            for (String s : this.reportListView.getReportList().get().getCheckers()) {
-                tops.add(s.split("\\.")[0]);
-            }
-            return tops.toArray();
+            return ((SearchList) parentElement).getCheckerTree().getRoots().toArray();
         }
 
         if (parentElement instanceof String) {
-
+            Optional<SearchList> sl = this.reportListView.getReportList();
+            if (!sl.isPresent())
+                return ArrayUtils.toArray();
             String parent = (String) parentElement;
-            String[] splittedParent = parent.split("\\.");
-            int parentLevel = splittedParent.length;
-            Set<Object> tops = new HashSet<>();
-            for (String s : this.reportListView.getReportList().get().getCheckers()) {
-                String[] splitted = s.split("\\.");
-                if (splitted.length > parentLevel && splitted[parentLevel - 1].equals(splittedParent[parentLevel - 1])
-                        && !s.equals(parent)) {
-                    tops.add(parent + "." + splitted[parentLevel]);
-                }
-            }
-
-            tops.addAll(this.reportListView.getReportList().get().getReportsFor((String)
-                    parentElement));
-
-            return tops.toArray();
+            // The parts of the hierarchy under this first, then the reports of the checker itself.
+            ImmutableList<String> children = sl.get().getCheckerTree().getChildren(parent);
+            Collection<ReportInfo> reports = sl.get().getReportsFor(parent);
+            ArrayList<Object> result = new ArrayList<>(children.size() + reports.size());
+            result.addAll(children);
+            result.addAll(reports);
+            return result.toArray();
         }
 
         if (parentElement instanceof ReportInfo) {
         	ReportInfo ri = (ReportInfo) parentElement;
         	Optional<ProblemInfo> bp = ri.getChildren();
         	if (bp != null && bp.isPresent()) {
-                ArrayList<BugPathItem> result = new ArrayList<>(bp.get().getItems());
-                Iterables.removeIf(result, new Predicate<BugPathItem>() {
-                    @Override
-                    public boolean apply(BugPathItem pi) {
-                        return "".equals(pi.getMessage());
-                    }
-                });
+                // The items are only created here, when the report gets expanded.
+                ProblemInfo path = bp.get();
+                ArrayList<BugPathItem> result = new ArrayList<>(path.size());
+                for (int i = 0; i < path.size(); ++i) {
+                    if (!"".equals(path.getMessage(i)))
+                        result.add(path.getItem(i));
+                }
                 return result.toArray();
             }
             return ArrayUtils.toArray();
@@ -115,10 +101,22 @@ public class TreeCheckerContentProvider implements ITreeContentProvider {
 
     @Override
     public boolean hasChildren(Object element) {
-    	if(element instanceof ReportInfo || element instanceof SearchList || element instanceof String) {
+        if (element instanceof String) {
+            Optional<SearchList> sl = this.reportListView.getReportList();
+            return sl.isPresent() && sl.get().getCheckerTree().getReportCount((String) element) > 0;
+        }
+    	if(element instanceof ReportInfo || element instanceof SearchList) {
         	return true;
         }
         return false;
     }
 
+    /**
+     * The nodes of the hierarchy show the reports of every checker under them.
+     */
+    @Override
+    public int getReportCount(String checker) {
+        Optional<SearchList> sl = this.reportListView.getReportList();
+        return sl.isPresent() ? sl.get().getCheckerTree().getReportCount(checker) : 0;
+    }
 }
@@ -3,25 +3,72 @@ package org.codechecker.eclipse.plugin.views.report.list.provider.label;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jface.viewers.IContentProvider;
 import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.PlatformUI;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.codechecker.eclipse.plugin.report.BugPathItem;
 import org.codechecker.eclipse.plugin.report.ReportInfo;
 import org.codechecker.eclipse.plugin.report.SearchList;
 import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
+import org.codechecker.eclipse.plugin.views.report.list.provider.content.ReportCountProvider;
 
 public class BasicViewLabelProvider extends LabelProvider {
 
+    private static final int LABEL_CACHE_SIZE = 10000;
+
     private final ReportListView reportListView;
+    // The labels by the identity of the elements, only for the model they were created for.
+    private final Cache<Object, String> labels;
+    private Object labelsModel;
+    private long labelsModification;
+    private Image folderImage;
+    private Image elementImage;
 
     public BasicViewLabelProvider(ReportListView reportListView) {
+        this(reportListView, LABEL_CACHE_SIZE);
+    }
+
+    /**
+     * @param reportListView The view of the labels.
+     * @param cacheSize The maximal number of cached labels, 0 turns the caching off.
+     */
+    BasicViewLabelProvider(ReportListView reportListView, int cacheSize) {
         this.reportListView = reportListView;
+        this.labels = CacheBuilder.newBuilder().weakKeys().maximumSize(cacheSize).build();
     }
 
-    public String getText(Object obj) {
+    /**
+     * The labels are created once, and cached until a new model is shown in the view, or the model
+     * changes in place, as the labels of the checkers contain the counts of the model.
+     */
+    @Override
+    public String getText(final Object obj) {
+        SearchList model = reportListView.getReportList().orNull();
+        long modification = model == null ? 0 : model.getModificationCount();
+        if (model != labelsModel || modification != labelsModification) {
+            labels.invalidateAll();
+            labelsModel = model;
+            labelsModification = modification;
+        }
+        String label = labels.getIfPresent(obj);
+        if (label == null) {
+            label = createText(obj);
+            labels.put(obj, label);
+        }
+        return label;
+    }
+
+    /**
+     * @param obj An element of the tree.
+     * @return The label of the element.
+     */
+    protected String createText(Object obj) {
         if (obj instanceof ReportInfo) {
             ReportInfo ri = (ReportInfo) obj;
             Path path = new Path(ri.getCheckedFile());
@@ -38,16 +85,29 @@ public class BasicViewLabelProvider extends LabelProvider {
             return file.getName() + " : " + bpi.getStartPosition().getLine() + " : " + bpi.getMessage();
         }
         if (obj instanceof String) {
-            // TODO: add counters
-            //return ((String)obj) + " (?)";
+            // The content provider tells how many reports are under the node, without counting them.
+            IContentProvider provider = reportListView.getViewer().getContentProvider();
+            if (provider instanceof ReportCountProvider)
+                return obj + " (" + ((ReportCountProvider) provider).getReportCount((String) obj) + ")";
         }
         return obj.toString();
     }
 
     public Image getImage(Object obj) {
-        String imageKey = ISharedImages.IMG_OBJ_ELEMENT;
-        if (obj instanceof String || obj instanceof SearchList || obj instanceof ReportInfo) // TODO: provide better images
-            imageKey = ISharedImages.IMG_OBJ_FOLDER;
-        return PlatformUI.getWorkbench().getSharedImages().getImage(imageKey);
+        // The shared images are looked up only once.
+        if (obj instanceof String || obj instanceof SearchList || obj instanceof ReportInfo) { // TODO: provide better images
+            if (folderImage == null)
+                folderImage = PlatformUI.getWorkbench().getSharedImages().getImage(ISharedImages.IMG_OBJ_FOLDER);
+            return folderImage;
+        }
+        if (elementImage == null)
+            elementImage = PlatformUI.getWorkbench().getSharedImages().getImage(ISharedImages.IMG_OBJ_ELEMENT);
+        return elementImage;
+    }
+
+    @Override
+    public void dispose() {
+        labels.invalidateAll();
+        super.dispose();
     }
 }
@@ -9,8 +9,9 @@ public class LastPartLabelProvider extends BasicViewLabelProvider {
         // TODO Auto-generated constructor stub
     }
 
-    public String getText(Object obj) {
-        String sup = super.getText(obj);
+    @Override
+    protected String createText(Object obj) {
+        String sup = super.createText(obj);
         if (obj instanceof String) {
             String[] parts = sup.split("\\.");
             sup = parts[parts.length - 1];
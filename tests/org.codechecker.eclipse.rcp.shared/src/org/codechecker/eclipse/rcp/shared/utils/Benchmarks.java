@@ -0,0 +1,172 @@
+package org.codechecker.eclipse.rcp.shared.utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Helper functions for the benchmarks:
+ *  * Timing of a task.
+ *  * Heap usage measurement.
+ *  * Printing the results as a table.
+ */
+public class Benchmarks {
+    private static final double NANO_TO_MILLI = 1e6;
+    private static final double BYTE_TO_MEGA = 1024 * 1024;
+    private static final int GC_ROUNDS = 3;
+
+    /**
+     * Not called.
+     */
+    private Benchmarks() {}
+
+    /**
+     * @param task The task to be measured.
+     * @return The time the task took to run once, in nanoseconds.
+     */
+    public static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Runs the task a few times without measuring, then returns the best of the measured runs.
+     * @param warmup The number of the runs that are not measured.
+     * @param rounds The number of the measured runs.
+     * @param task The task to be measured.
+     * @return The shortest run, in nanoseconds.
+     */
+    public static long bestTime(int warmup, int rounds, Runnable task) {
+        for (int i = 0; i < warmup; ++i) {
+            task.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; ++i) {
+            best = Math.min(best, time(task));
+        }
+        return best;
+    }
+
+    /**
+     * @return The heap in use after a few garbage collections.
+     */
+    public static long usedHeap() {
+        for (int i = 0; i < GC_ROUNDS; ++i) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Runs a garbage collection and resets the peak usage of the heap pools.
+     * @return The heap in use after the collection.
+     */
+    public static long resetPeakHeap() {
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @return The sum of the peak usages of the heap pools since the last reset.
+     */
+    public static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    /**
+     * @param nanos A time in nanoseconds.
+     * @return The time in milliseconds.
+     */
+    public static double millis(double nanos) {
+        return nanos / NANO_TO_MILLI;
+    }
+
+    /**
+     * @param bytes A size in bytes.
+     * @return The size in megabytes.
+     */
+    public static double megabytes(double bytes) {
+        return bytes / BYTE_TO_MEGA;
+    }
+
+    /**
+     * Collects the rows of the results, and prints them to standard out with aligned columns.
+     */
+    public static class Table {
+        private final List<String> header;
+        private final List<List<String>> rows = new ArrayList<>();
+
+        /**
+         * @param columns The names of the columns.
+         */
+        public Table(String... columns) {
+            header = Arrays.asList(columns);
+        }
+
+        /**
+         * Adds a row. The floating point values are printed with two decimals.
+         * @param cells The values of the row, one for each column.
+         * @return This table.
+         */
+        public Table row(Object... cells) {
+            if (cells.length != header.size())
+                throw new IllegalArgumentException("Expected " + header.size() + " cells, got " + cells.length);
+            List<String> row = new ArrayList<>();
+            for (Object cell : cells) {
+                if (cell instanceof Double || cell instanceof Float)
+                    row.add(String.format("%.2f", cell));
+                else
+                    row.add(String.valueOf(cell));
+            }
+            rows.add(row);
+            return this;
+        }
+
+        /**
+         * Prints the header and the rows, every column right aligned to its widest cell.
+         */
+        public void print() {
+            int[] widths = new int[header.size()];
+            for (List<String> row : concat()) {
+                for (int i = 0; i < row.size(); ++i) {
+                    widths[i] = Math.max(widths[i], row.get(i).length());
+                }
+            }
+            for (List<String> row : concat()) {
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < row.size(); ++i) {
+                    if (i > 0)
+                        line.append(' ');
+                    line.append(String.format("%" + widths[i] + "s", row.get(i)));
+                }
+                System.out.println(line);
+            }
+        }
+
+        /**
+         * @return The header followed by the rows.
+         */
+        private List<List<String>> concat() {
+            List<List<String>> all = new ArrayList<>();
+            all.add(header);
+            all.addAll(rows);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.codechecker.eclipse.plugin.codechecker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the caching of the version and the checker catalog.
+ */
+public class CodeCheckerCacheTest {
+    private static final String VERSION = "CodeChecker analyzer version: 1.2.3";
+    private static final String CHECKERS = "Available checkers:\n"
+            + "  + core.DivideZero    Check for division by zero\n"
+            + "  - alpha.core.CastSize\n"
+            + "\n"
+            + " unix.Malloc\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path binary;
+    private int calls;
+
+    /**
+     * Creates a fake binary, and starts with an empty cache.
+     * @throws IOException Thrown when the binary can't be created.
+     */
+    @Before
+    public void setUp() throws IOException {
+        binary = folder.newFile("CodeChecker").toPath();
+        CodeCheckerCache.clear();
+        calls = 0;
+    }
+
+    /**
+     * The version command runs only once.
+     */
+    @Test
+    public void testVersionCached() {
+        assertThat(CodeCheckerCache.getVersion(binary, loader(VERSION)), is(equalTo(Optional.of(VERSION))));
+        assertThat(CodeCheckerCache.getVersion(binary, loader(VERSION)), is(equalTo(Optional.of(VERSION))));
+        assertThat(calls, is(equalTo(1)));
+    }
+
+    /**
+     * A failed command is run again on the next lookup.
+     */
+    @Test
+    public void testFailureNotCached() {
+        assertThat(CodeCheckerCache.getVersion(binary, loader("")).or(""), is(equalTo("")));
+        assertThat(CodeCheckerCache.getVersion(binary, loader(VERSION)), is(equalTo(Optional.of(VERSION))));
+        assertThat(calls, is(equalTo(2)));
+    }
+
+    /**
+     * A changed binary is queried again.
+     */
+    @Test
+    public void testChangedBinary() {
+        CodeCheckerCache.getVersion(binary, loader(VERSION));
+        File file = binary.toFile();
+        assertThat(file.setLastModified(file.lastModified() - 10000), is(true));
+        CodeCheckerCache.getVersion(binary, loader(VERSION));
+        assertThat(calls, is(equalTo(2)));
+    }
+
+    /**
+     * A binary that doesn't exist is not cached.
+     */
+    @Test
+    public void testMissingBinary() {
+        Path missing = binary.resolveSibling("missing");
+        CodeCheckerCache.getVersion(missing, loader(VERSION));
+        CodeCheckerCache.getVersion(missing, loader(VERSION));
+        assertThat(calls, is(equalTo(2)));
+    }
+
+    /**
+     * The catalog is parsed once, with the signs and descriptions.
+     */
+    @Test
+    public void testCatalog() {
+        CheckerCatalog catalog = CodeCheckerCache.getCheckerCatalog(binary, loader(CHECKERS)).get();
+        assertThat(CodeCheckerCache.getCheckerCatalog(binary, loader(CHECKERS)).get() == catalog, is(true));
+        assertThat(calls, is(equalTo(1)));
+
+        assertThat(catalog.getRawOutput(), is(equalTo(CHECKERS)));
+        assertThat(catalog.getCheckers().size(), is(equalTo(3)));
+        CheckerCatalog.Checker first = catalog.getCheckers().get(0);
+        assertThat(first.getName(), is(equalTo("core.DivideZero")));
+        assertThat(first.isEnabled(), is(equalTo(Optional.of(true))));
+        assertThat(first.getDescription(), is(equalTo("Check for division by zero")));
+        assertThat(catalog.getCheckers().get(1).isEnabled(), is(equalTo(Optional.of(false))));
+        CheckerCatalog.Checker last = catalog.getCheckers().get(2);
+        assertThat(last.getName(), is(equalTo("unix.Malloc")));
+        assertThat(last.isEnabled(), is(equalTo(Optional.<Boolean>absent())));
+        assertThat(last.getDescription(), is(equalTo("")));
+    }
+
+    /**
+     * @param output The output of the command.
+     * @return A loader counting its calls.
+     */
+    private Supplier<Optional<String>> loader(final String output) {
+        return new Supplier<Optional<String>>() {
+            @Override
+            public Optional<String> get() {
+                ++calls;
+                return Optional.of(output);
+            }
+        };
+    }
+}
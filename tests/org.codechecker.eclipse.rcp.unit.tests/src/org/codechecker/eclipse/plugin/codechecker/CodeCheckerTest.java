@@ -2,6 +2,7 @@ package org.codechecker.eclipse.plugin.codechecker;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 import org.codechecker.eclipse.plugin.codechecker.locator.InvalidCodeCheckerException;
 import org.codechecker.eclipse.plugin.config.CcConfigurationBase;
@@ -14,15 +15,20 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
-import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -41,6 +47,8 @@ public class CodeCheckerTest {
     private Path codeCheckerPath = Utils.prepareCodeChecker();
     private Path notACodeCheckerPath = Paths.get(DUMMY);
     private ShellExecutorHelper she;
+    @Captor
+    private ArgumentCaptor<List<String>> argv;
 
     /**
      * Initialitze a CodeChecker test package and also a dummy path, and a
@@ -48,6 +56,7 @@ public class CodeCheckerTest {
      */
     @Before
     public void init() {
+        MockitoAnnotations.initMocks(this);
         codeCheckerPath = Utils.prepareCodeChecker().resolve(Paths.get("bin", "CodeChecker"));
         notACodeCheckerPath = Paths.get(DUMMY);
         she = new ShellExecutorHelperFactory().createShellExecutorHelper(System.getenv());
@@ -103,7 +112,6 @@ public class CodeCheckerTest {
     /**
      * Simple test for running an analysis.
      */
-    @SuppressWarnings("unchecked")
     @Test
     public void analyzeTest() {
         ICodeChecker codeChecker = null;
@@ -119,17 +127,19 @@ public class CodeCheckerTest {
         when(configMock.get(ConfigTypes.ANAL_THREADS)).thenReturn(cores);
         when(configMock.get(ConfigTypes.ANAL_OPTIONS)).thenReturn(extra);
         NullProgressMonitor mon = new NullProgressMonitor();
-        when(mockShe.progressableWaitReturnOutput(anyString(), Mockito.anyMap(), Mockito.anyBoolean(), Mockito.eq(mon),
-                Mockito.eq(RUN_COUNT))).then(new Answer<Optional<String>>() {
+        // Stubbed with doAnswer, so the real method of the spy isn't called with the captor.
+        Mockito.doAnswer(new Answer<Optional<String>>() {
 
-                    @Override
-                    public Optional<String> answer(InvocationOnMock invocation) throws Throwable {
-                        Object[] args = invocation.getArguments();
-                        return Optional.of((String) args[0]);
-                    }
-                });
+            @Override
+            public Optional<String> answer(InvocationOnMock invocation) throws Throwable {
+                return Optional.of(Joiner.on(' ').join(argv.getValue()));
+            }
+        }).when(mockShe).progressableWaitReturnOutput(argv.capture(), Mockito.anyBoolean(), Mockito.eq(mon),
+                Mockito.eq(RUN_COUNT));
         String analyzeResult = codeChecker.analyze(Paths.get(DUMMY), true, mon, RUN_COUNT, configMock);
         assertThat("Analyze result isn't the same as specified", analyzeResult.contains("-j " + cores));
         assertThat("Analyze result isn't contains the extra parameters", analyzeResult.contains(extra));
+        assertThat("Displayed command isn't the one that was run",
+                codeChecker.getAnalyzeString(configMock, Paths.get(DUMMY)), is(equalTo(analyzeResult)));
     }
 }
@@ -0,0 +1,124 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the selection of the changed translation units.
+ */
+public class AnalyzedUnitsTest {
+    private static final String COMMAND = "g++ -c -I include main.cpp";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File source;
+    private File header;
+    private List<CompileCommand> commands;
+    private AnalyzedUnits units;
+
+    /**
+     * Creates a source including a header from an include directory, and records its analysis.
+     * @throws IOException Thrown when the sources can't be written.
+     */
+    @Before
+    public void setUp() throws IOException {
+        source = folder.newFile("main.cpp");
+        folder.newFolder("include");
+        header = folder.newFile("include/lib.h");
+        write(source, "#include <vector>\n#include \"lib.h\"\nint main() {}\n");
+        write(header, "int f();\n");
+        commands = ImmutableList.of(new CompileCommand(folder.getRoot().toString(), COMMAND, "main.cpp"));
+        units = new AnalyzedUnits();
+        units.update(commands, units.getChanged(commands, new SourceFingerprinter()));
+    }
+
+    /**
+     * Nothing is analyzed again without a change.
+     */
+    @Test
+    public void testUnchanged() {
+        assertThat(units.getChanged(commands, new SourceFingerprinter()).size(), is(equalTo(0)));
+    }
+
+    /**
+     * A change of an included header is a change of the translation unit.
+     * @throws IOException Thrown when the header can't be written.
+     */
+    @Test
+    public void testHeaderChanged() throws IOException {
+        write(header, "int f(int);\n");
+        assertThat(units.getChanged(commands, new SourceFingerprinter()).size(), is(equalTo(1)));
+    }
+
+    /**
+     * A changed command is a new translation unit.
+     */
+    @Test
+    public void testCommandChanged() {
+        List<CompileCommand> changed = ImmutableList.of(
+                new CompileCommand(folder.getRoot().toString(), COMMAND + " -O2", "main.cpp"));
+        assertThat(units.getChanged(changed, new SourceFingerprinter()).size(), is(equalTo(1)));
+    }
+
+    /**
+     * Every unit is analyzed again with a new configuration.
+     */
+    @Test
+    public void testConfigurationChanged() {
+        units.setConfiguration("-e alpha");
+        assertThat(units.getChanged(commands, new SourceFingerprinter()).size(), is(equalTo(1)));
+    }
+
+    /**
+     * The units survive a write and a read.
+     * @throws IOException Thrown when the file can't be written or read.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("analyzed_units.json");
+        units.write(file);
+        AnalyzedUnits read = AnalyzedUnits.read(file);
+        assertThat(read.size(), is(equalTo(1)));
+        Map<CompileCommand, String> changed = read.getChanged(commands, new SourceFingerprinter());
+        assertThat(changed.size(), is(equalTo(0)));
+    }
+
+    /**
+     * The units not analyzed yet are expected to take the average time.
+     */
+    @Test
+    public void testExpectedDurations() {
+        CompileCommand other = new CompileCommand(folder.getRoot().toString(), COMMAND + " -O2", "main.cpp");
+        units.updateDurations(ImmutableMap.of(commands.get(0), 40L));
+        Map<CompileCommand, Long> expected = units.getExpectedDurations(ImmutableList.of(commands.get(0), other));
+        assertThat(expected.get(commands.get(0)), is(equalTo(40L)));
+        assertThat(expected.get(other), is(equalTo(40L)));
+    }
+
+    /**
+     * @param file The file to be written.
+     * @param content The new content.
+     * @throws IOException Thrown when the file can't be written.
+     */
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,108 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the normalization of the compile log.
+ */
+public class CompilationDatabaseTest {
+    private static final String FIRST = "{\"directory\": \"/src\", \"command\": \"g++ -c  a.cpp\", \"file\": \"a.cpp\"}";
+    private static final String SECOND = "{\"directory\": \"/src\", \"command\": \"g++ -c b.cpp\", \"file\": \"b.cpp\"}";
+    // The same compilation as the first, logged as arguments, with a different spelling of the file.
+    private static final String FIRST_AGAIN = "{\"directory\": \"/src/\", \"arguments\": [\"g++\", \"-c\", \"a.cpp\"],"
+            + " \"file\": \"./a.cpp\"}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path log;
+
+    /**
+     * @throws IOException Thrown when the log can't be created.
+     */
+    @Before
+    public void setUp() throws IOException {
+        log = folder.newFile("compilation_commands.json").toPath();
+    }
+
+    /**
+     * Only the last occurrence of a compilation is kept.
+     * @throws IOException Thrown when the log can't be read.
+     */
+    @Test
+    public void testDeduplicated() throws IOException {
+        write("[" + FIRST + ",\n" + SECOND + ",\n" + FIRST_AGAIN + "]");
+        CompilationDatabase database = CompilationDatabase.read(log);
+        assertThat(database.getLoggedCount(), is(equalTo(3)));
+        assertThat(database.size(), is(equalTo(2)));
+        assertThat(database.getCommands().get(0).getFile(), is(equalTo("b.cpp")));
+        assertThat(database.getCommands().get(1).getFile(), is(equalTo("./a.cpp")));
+        assertThat(database.isTruncated(), is(equalTo(false)));
+    }
+
+    /**
+     * The complete entries of a log that is being written are kept.
+     * @throws IOException Thrown when the log can't be read.
+     */
+    @Test
+    public void testTruncated() throws IOException {
+        write("[" + FIRST + ",\n" + SECOND.substring(0, 20));
+        CompilationDatabase database = CompilationDatabase.read(log);
+        assertThat(database.size(), is(equalTo(1)));
+        assertThat(database.isTruncated(), is(equalTo(true)));
+    }
+
+    /**
+     * An empty log has no entries.
+     * @throws IOException Thrown when the log can't be read.
+     */
+    @Test
+    public void testEmpty() throws IOException {
+        assertThat(CompilationDatabase.read(log).size(), is(equalTo(0)));
+    }
+
+    /**
+     * Something else than a log is an error.
+     * @throws IOException Expected.
+     */
+    @Test(expected = IOException.class)
+    public void testInvalid() throws IOException {
+        write("{\"not\": \"a list\"}");
+        CompilationDatabase.read(log);
+    }
+
+    /**
+     * The written database is read back the same.
+     * @throws IOException Thrown when the database can't be written or read.
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        CompilationDatabase.write(log, ImmutableList.of(new CompileCommand("/src", "g++ -c \"a b.cpp\"", "a b.cpp")));
+        CompilationDatabase database = CompilationDatabase.read(log);
+        assertThat(database.size(), is(equalTo(1)));
+        assertThat(database.getCommands().get(0).getArguments(),
+                is(equalTo((Object) ImmutableList.of("g++", "-c", "a b.cpp"))));
+    }
+
+    /**
+     * @param content The new content of the log.
+     * @throws IOException Thrown when the log can't be written.
+     */
+    private void write(String content) throws IOException {
+        Files.write(log, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
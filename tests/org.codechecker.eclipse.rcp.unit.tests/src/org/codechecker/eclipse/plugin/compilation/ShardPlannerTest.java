@@ -0,0 +1,102 @@
+package org.codechecker.eclipse.plugin.compilation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the splitting of the analysis into shards.
+ */
+public class ShardPlannerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The shards get about the same analysis time.
+     */
+    @Test
+    public void testBalanced() {
+        long[] durations = { 80, 10, 10, 30, 30, 20, 20 };
+        ImmutableList.Builder<CompileCommand> commands = ImmutableList.builder();
+        Map<CompileCommand, Long> expected = new HashMap<>();
+        for (int i = 0; i < durations.length; ++i) {
+            CompileCommand command = new CompileCommand("/src", "g++ -c " + i + ".cpp", i + ".cpp");
+            commands.add(command);
+            expected.put(command, durations[i]);
+        }
+        List<List<CompileCommand>> shards = ShardPlanner.split(commands.build(), 2, expected);
+        assertThat(shards.size(), is(equalTo(2)));
+        assertThat(getDuration(shards.get(0), expected), is(equalTo(100L)));
+        assertThat(getDuration(shards.get(1), expected), is(equalTo(100L)));
+    }
+
+    /**
+     * There are no empty shards.
+     */
+    @Test
+    public void testNoEmptyShards() {
+        List<CompileCommand> commands = ImmutableList.of(new CompileCommand("/src", "g++ -c a.cpp", "a.cpp"));
+        assertThat(ShardPlanner.split(commands, 4, new HashMap<CompileCommand, Long>()).size(), is(equalTo(1)));
+    }
+
+    /**
+     * Every thread is given out, every shard gets at least one.
+     */
+    @Test
+    public void testThreads() {
+        assertThat(ShardPlanner.splitThreads(10, 4), is(equalTo(new int[] { 3, 3, 2, 2 })));
+        assertThat(ShardPlanner.splitThreads(2, 3), is(equalTo(new int[] { 1, 1, 1 })));
+    }
+
+    /**
+     * The units of the active file come first, then the ones including an other open file.
+     * @throws IOException Thrown when the sources can't be written.
+     */
+    @Test
+    public void testPrioritized() throws IOException {
+        File header = folder.newFile("open.h");
+        File included = folder.newFile("includes.cpp");
+        File active = folder.newFile("active.cpp");
+        folder.newFile("other.cpp");
+        Files.write(included.toPath(), "#include \"open.h\"\n".getBytes(StandardCharsets.UTF_8));
+        String directory = folder.getRoot().toString();
+        CompileCommand includes = new CompileCommand(directory, "g++ -c includes.cpp", "includes.cpp");
+        CompileCommand activeUnit = new CompileCommand(directory, "g++ -c active.cpp", "active.cpp");
+        CompileCommand otherUnit = new CompileCommand(directory, "g++ -c other.cpp", "other.cpp");
+        List<CompileCommand> commands = ImmutableList.of(includes, otherUnit, activeUnit);
+        SourceFingerprinter fingerprinter = new SourceFingerprinter();
+        for (CompileCommand command : commands)
+            fingerprinter.fingerprint(command);
+
+        List<CompileCommand> prioritized = ShardPlanner.getPrioritized(commands,
+                ImmutableList.of(active.toPath(), header.toPath()), fingerprinter);
+        assertThat(prioritized, is(equalTo((List<CompileCommand>) ImmutableList.of(activeUnit, includes))));
+    }
+
+    /**
+     * @param shard A shard.
+     * @param expected The durations of the units.
+     * @return The duration of the shard.
+     */
+    private static long getDuration(List<CompileCommand> shard, Map<CompileCommand, Long> expected) {
+        long duration = 0;
+        for (CompileCommand command : shard)
+            duration += expected.get(command);
+        return duration;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Compilation database classes Unit tests.
+ */
+package org.codechecker.eclipse.plugin.compilation;
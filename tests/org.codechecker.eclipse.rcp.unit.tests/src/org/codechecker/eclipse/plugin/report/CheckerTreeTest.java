@@ -0,0 +1,91 @@
+package org.codechecker.eclipse.plugin.report;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the hierarchy of the checkers.
+ */
+public class CheckerTreeTest {
+    private static final String FILE = "/src/checkers.cpp";
+
+    private SearchList reports;
+
+    /**
+     * Creates reports for a few checkers, alpha.core is a checker and a part of the hierarchy too.
+     */
+    @Before
+    public void setUp() {
+        reports = new SearchList();
+        ImmutableList.Builder<ReportInfo> builder = ImmutableList.builder();
+        int line = 0;
+        for (String checker : new String[] { "alpha.core", "alpha.core.CastSize", "alpha.core.CastSize",
+            "alpha.unix.Chroot", "core.DivideZero", "deadcode.DeadStores" }) {
+            Position position = new Position(++line, 1);
+            builder.add(PlistParser.createReport(checker, "Report " + line,
+                    ImmutableList.of(new BugPathItem(position, position, "Event " + line, FILE))));
+        }
+        reports.addReports(builder.build());
+    }
+
+    /**
+     * The top level, and the nodes under them are sorted.
+     */
+    @Test
+    public void testChildren() {
+        CheckerTree tree = reports.getCheckerTree();
+        assertThat(tree.getRoots(), is(equalTo(ImmutableList.of("alpha", "core", "deadcode"))));
+        assertThat(tree.getChildren("alpha"), is(equalTo(ImmutableList.of("alpha.core", "alpha.unix"))));
+        assertThat(tree.getChildren("alpha.core"), is(equalTo(ImmutableList.of("alpha.core.CastSize"))));
+        assertThat(tree.getChildren("core.DivideZero").isEmpty(), is(true));
+        assertThat(tree.getChildren("unknown").isEmpty(), is(true));
+    }
+
+    /**
+     * The parent is the name without its last part, the top level has none.
+     */
+    @Test
+    public void testParent() {
+        CheckerTree tree = reports.getCheckerTree();
+        assertThat(tree.getParent("alpha.core.CastSize"), is(equalTo(Optional.of("alpha.core"))));
+        assertThat(tree.getParent("alpha.core"), is(equalTo(Optional.of("alpha"))));
+        assertThat(tree.getParent("alpha"), is(equalTo(Optional.<String>absent())));
+    }
+
+    /**
+     * The counts include the reports of every checker under the node.
+     */
+    @Test
+    public void testReportCount() {
+        CheckerTree tree = reports.getCheckerTree();
+        assertThat(tree.getReportCount("alpha"), is(equalTo(4)));
+        assertThat(tree.getReportCount("alpha.core"), is(equalTo(3)));
+        assertThat(tree.getNode("alpha.core").get().getOwnReportCount(), is(equalTo(1)));
+        assertThat(tree.getNode("alpha").get().getOwnReportCount(), is(equalTo(0)));
+        assertThat(tree.getReportCount("deadcode"), is(equalTo(1)));
+        assertThat(tree.getReportCount("unknown"), is(equalTo(0)));
+    }
+
+    /**
+     * The tree is built once, and rebuilt when the reports change.
+     */
+    @Test
+    public void testRebuiltOnChange() {
+        CheckerTree tree = reports.getCheckerTree();
+        assertThat(reports.getCheckerTree() == tree, is(true));
+
+        Position position = new Position(1, 1);
+        reports.addReports(ImmutableList.of(PlistParser.createReport("unix.Malloc", "Leak",
+                ImmutableList.of(new BugPathItem(position, position, "Leak", FILE)))));
+        assertThat(reports.getCheckerTree() == tree, is(false));
+        assertThat(reports.getCheckerTree().getRoots().contains("unix"), is(true));
+    }
+}
@@ -0,0 +1,133 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.codechecker.eclipse.rcp.shared.utils.Utils;
+import org.eclipse.core.resources.IProject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests that the {@link PlistManifest} parses only the new and changed plists.
+ */
+public class PlistManifestTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final PlistParser parser = new PlistParser(mock(IProject.class));
+    private final AtomicInteger parses = new AtomicInteger();
+    private final Function<File, List<ReportInfo>> countingParser = f -> {
+        parses.incrementAndGet();
+        return parser.parseReports(f);
+    };
+
+    private PlistManifest manifest;
+    private File first;
+    private File second;
+
+    /**
+     * Copies the test plists into a temporary results folder.
+     * @throws IOException Thrown when the files cannot be copied.
+     * @throws URISyntaxException Thrown when the test resources cannot be located.
+     */
+    @Before
+    public void setUp() throws IOException, URISyntaxException {
+        manifest = new PlistManifest();
+        first = copy("test_plist_1.plist");
+        second = copy("test_plist_2.plist");
+    }
+
+    /**
+     * An unchanged plist is not parsed again, a removed one is evicted.
+     * @throws IOException Thrown when the files cannot be read.
+     */
+    @Test
+    public void testUnchangedReusedRemovedEvicted() throws IOException {
+        update(first, second);
+        assertThat(parses.get(), is(equalTo(2)));
+        int records = manifest.getSearchList().getRecordCount();
+
+        assertThat(manifest.getChanged(Arrays.asList(first, second)).isEmpty(), is(true));
+        update(first, second);
+        assertThat(parses.get(), is(equalTo(2)));
+        assertThat(manifest.getSearchList().getRecordCount(), is(equalTo(records)));
+
+        assertThat(manifest.retain(Arrays.asList(first)), is(equalTo(1)));
+        assertThat(manifest.size(), is(equalTo(1)));
+        // The reports of the evicted plist are removed from the live list.
+        assertThat(manifest.getSearchList().getRecordCount(),
+                is(equalTo(parser.parsePlist(first, new SearchList()).getRecordCount())));
+    }
+
+    /**
+     * A touched plist with the same content is hashed but not parsed, a modified one is parsed.
+     * @throws IOException Thrown when the files cannot be read or written.
+     */
+    @Test
+    public void testTouchedHashedModifiedParsed() throws IOException {
+        update(first);
+
+        assertThat(first.setLastModified(first.lastModified() - 10000), is(true));
+        assertThat(manifest.getChanged(Arrays.asList(first)).size(), is(equalTo(1)));
+        update(first);
+        assertThat(parses.get(), is(equalTo(1)));
+        assertThat(manifest.getChanged(Arrays.asList(first)).isEmpty(), is(true));
+
+        Files.copy(second.toPath(), first.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        update(first);
+        assertThat(parses.get(), is(equalTo(2)));
+        assertThat(manifest.getSearchList().getRecordCount(),
+                is(equalTo(parser.parsePlist(second, new SearchList()).getRecordCount())));
+    }
+
+    /**
+     * A plist that can't be parsed gets no entry, so it's parsed again on the next refresh.
+     * @throws IOException Expected, the plist is corrupt.
+     */
+    @Test(expected = IOException.class)
+    public void testCorruptNotStored() throws IOException {
+        Files.write(first.toPath(), "<plist><dict>".getBytes(StandardCharsets.UTF_8));
+        manifest.refresh(first, parser::tryParseReports);
+    }
+
+    /**
+     * Refreshes the changed plists the same way as the {@link PlistParser}.
+     * @param plists The plists present in the results folder.
+     * @throws IOException Thrown when a file cannot be read.
+     */
+    private void update(File... plists) throws IOException {
+        manifest.retain(Arrays.asList(plists));
+        for (File plist : manifest.getChanged(Arrays.asList(plists))) {
+            manifest.put(plist, manifest.refresh(plist, countingParser));
+        }
+    }
+
+    /**
+     * @param name The name of the test plist.
+     * @return The copy of the plist in the temporary folder.
+     * @throws IOException Thrown when the file cannot be copied.
+     * @throws URISyntaxException Thrown when the test resources cannot be located.
+     */
+    private File copy(String name) throws IOException, URISyntaxException {
+        File target = new File(folder.getRoot(), name);
+        Files.copy(Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests", Utils.RES + "plists/" + name),
+                target.toPath());
+        return target;
+    }
+}
@@ -0,0 +1,138 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codechecker.eclipse.rcp.shared.utils.Benchmarks;
+import org.codechecker.eclipse.rcp.shared.utils.Utils;
+import org.eclipse.core.resources.IProject;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares parse time and peak heap usage of the dd-plist based and the streaming plist parsing.
+ * Uses the plists from the test resources and synthetic, large result files.
+ */
+public class PlistParserBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int[] SYNTHETIC_DIAGNOSTICS = { 100, 1000, 5000 };
+    private static final int EVENTS_PER_DIAGNOSTIC = 8;
+    private static final int SOURCE_FILES = 50;
+    // Bug path messages repeat in real results, like "Assuming 'p' is null".
+    private static final int MESSAGE_VARIANTS = 10;
+
+    private IProject proj = mock(IProject.class);
+
+    /**
+     * Runs the benchmark and prints the results to standard out.
+     * @throws IOException Thrown when the synthetic files cannot be written.
+     * @throws URISyntaxException Thrown when the test resources cannot be located.
+     */
+    @Test
+    public void compareParsers() throws IOException, URISyntaxException {
+        List<File> files = new ArrayList<>();
+        for (String name : new String[] { "test_plist_1.plist", "test_plist_2.plist" }) {
+            files.add(Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests",
+                    Utils.RES + "plists/" + name).toFile());
+        }
+        for (int diagnostics : SYNTHETIC_DIAGNOSTICS) {
+            files.add(generatePlist(diagnostics));
+        }
+
+        Benchmarks.Table table = new Benchmarks.Table("file", "size(MB)", "parser", "time(ms)", "peak heap(MB)");
+        for (File file : files) {
+            int domCount = 0;
+            for (PlistParserTypes type : PlistParserTypes.values()) {
+                final PlistParser parser = new PlistParser(proj);
+                parser.setParserType(type);
+                long time = Benchmarks.bestTime(WARMUP_ROUNDS, MEASURED_ROUNDS,
+                        () -> parser.parsePlist(file, new SearchList()));
+
+                long baseline = Benchmarks.resetPeakHeap();
+                int reports = parser.parsePlist(file, new SearchList()).getRecordCount();
+                long peakHeap = Benchmarks.peakHeap() - baseline;
+
+                if (type == PlistParserTypes.DOM)
+                    domCount = reports;
+                else
+                    assertThat(reports, is(equalTo(domCount)));
+                table.row(file.getName(), Benchmarks.megabytes(file.length()), type, Benchmarks.millis(time),
+                        Benchmarks.megabytes(peakHeap));
+            }
+        }
+        table.print();
+    }
+
+    /**
+     * Writes a clang like result plist, with control edges and the file table after the diagnostics.
+     * @param diagnostics The number of diagnostics in the file.
+     * @return The generated file, deleted on exit.
+     * @throws IOException Thrown when the file cannot be written.
+     */
+    static File generatePlist(int diagnostics) throws IOException {
+        Path path = Files.createTempFile("synthetic_" + diagnostics + "_", ".plist");
+        path.toFile().deleteOnExit();
+        try (BufferedWriter w = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            w.write("<!DOCTYPE plist PUBLIC \"-//Apple//DTD PLIST 1.0//EN\" "
+                    + "\"http://www.apple.com/DTDs/PropertyList-1.0.dtd\">\n");
+            w.write("<plist version=\"1.0\">\n<dict>\n");
+            w.write("<key>clang_version</key><string>clang version 6.0.0</string>\n");
+            w.write("<key>diagnostics</key>\n<array>\n");
+            for (int d = 0; d < diagnostics; ++d) {
+                int file = d % SOURCE_FILES;
+                w.write("<dict>\n<key>category</key><string>Logic error</string>\n");
+                w.write("<key>check_name</key><string>core.checker" + (d % 20) + "</string>\n");
+                w.write("<key>description</key><string>Synthetic diagnostic " + d + "</string>\n");
+                w.write("<key>issue_hash_content_of_line_in_context</key><string>" + Integer.toHexString(d)
+                        + "</string>\n");
+                w.write("<key>location</key>" + location(file, d, 1) + "\n");
+                w.write("<key>path</key>\n<array>\n");
+                for (int e = 0; e < EVENTS_PER_DIAGNOSTIC; ++e) {
+                    String message = "Event " + e + " of variant " + d % MESSAGE_VARIANTS;
+                    w.write("<dict><key>edges</key><array><dict><key>end</key><array>" + location(file, e + 1, 1)
+                            + location(file, e + 1, 5) + "</array><key>start</key><array>" + location(file, e, 1)
+                            + location(file, e, 5) + "</array></dict></array>"
+                            + "<key>kind</key><string>control</string></dict>\n");
+                    w.write("<dict><key>depth</key><integer>0</integer>"
+                            + "<key>extended_message</key><string>" + message + "</string>"
+                            + "<key>kind</key><string>event</string>"
+                            + "<key>location</key>" + location(file, e + 1, 3)
+                            + "<key>message</key><string>" + message + "</string>"
+                            + "<key>ranges</key><array><array>" + location(file, e + 1, 3) + location(file, e + 1, 9)
+                            + "</array></array></dict>\n");
+                }
+                w.write("</array>\n</dict>\n");
+            }
+            w.write("</array>\n<key>files</key>\n<array>\n");
+            for (int f = 0; f < SOURCE_FILES; ++f) {
+                w.write("<string>/home/user/project/src/file" + f + ".cpp</string>\n");
+            }
+            w.write("</array>\n</dict>\n</plist>\n");
+        }
+        return path.toFile();
+    }
+
+    /**
+     * @param file File index.
+     * @param line Line number.
+     * @param col Column number.
+     * @return A plist location dictionary.
+     */
+    private static String location(int file, int line, int col) {
+        return "<dict><key>col</key><integer>" + col + "</integer><key>file</key><integer>" + file
+                + "</integer><key>line</key><integer>" + line + "</integer></dict>";
+    }
+}
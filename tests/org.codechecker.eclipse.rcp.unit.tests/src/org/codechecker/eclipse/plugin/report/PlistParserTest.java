@@ -1,13 +1,19 @@
 package org.codechecker.eclipse.plugin.report;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.codechecker.eclipse.rcp.shared.utils.Utils;
 import org.eclipse.core.resources.IProject;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.hasItem;
@@ -16,6 +22,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 
 public class PlistParserTest {
+    private static final int PARALLEL_THREADS = 4;
+    private static final int COPIES = 8;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private PlistParser parser;
     private IProject proj = mock(IProject.class);
 
@@ -40,4 +52,132 @@ public class PlistParserTest {
         parser.parsePlist(file.toFile(), sl);
         assertThat(sl.getCheckers(), hasItem("alpha.core.SizeofPtr"));
     }
+
+    /**
+     * The streaming parser must produce the same reports as the dd-plist based one. The diagnostics without
+     * events are skipped by both.
+     */
+    @Test
+    public void streamingParserMatchesDocumentParser() {
+        for (String name : new String[] { "test_plist_1.plist", "test_plist_2.plist",
+                "test_plist_no_events.plist" }) {
+            Path file = null;
+            try {
+                file = Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests",
+                        Utils.RES + "plists/" + name);
+            } catch (URISyntaxException | IOException e) {
+                e.printStackTrace();
+            }
+
+            parser.setParserType(PlistParserTypes.DOM);
+            SearchList dom = parser.parsePlist(file.toFile(), new SearchList());
+            parser.setParserType(PlistParserTypes.STREAM);
+            SearchList stream = parser.parsePlist(file.toFile(), new SearchList());
+
+            assertThat(stream.getRecordCount(), is(equalTo(dom.getRecordCount())));
+            assertThat(stream.getCheckers(), is(equalTo(dom.getCheckers())));
+            for (String checker : dom.getCheckers()) {
+                ArrayList<ReportInfo> domReports = new ArrayList<>(dom.getReportsFor(checker));
+                ArrayList<ReportInfo> streamReports = new ArrayList<>(stream.getReportsFor(checker));
+                assertThat(streamReports, is(equalTo(domReports)));
+                for (int i = 0; i < domReports.size(); ++i) {
+                    assertThat(streamReports.get(i).getChildren(), is(equalTo(domReports.get(i).getChildren())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Parsing the plists on several threads must produce the same reports, in the same order, as parsing
+     * them on the calling thread.
+     * @throws Exception Thrown when the test plists cannot be copied.
+     */
+    @Test
+    public void parallelParsingMatchesSequential() throws Exception {
+        List<File> plists = new ArrayList<>();
+        for (int i = 0; i < COPIES; ++i) {
+            String name = "test_plist_" + (i % 2 + 1) + ".plist";
+            File target = new File(folder.getRoot(), i + "_" + name);
+            Files.copy(Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests", Utils.RES + "plists/"
+                    + name), target.toPath());
+            plists.add(target);
+        }
+
+        parser.setParseThreads(1);
+        SearchList sequential = parser.processResults(plists, new PlistManifest());
+        parser.setParseThreads(PARALLEL_THREADS);
+        SearchList parallel = parser.processResults(plists, new PlistManifest());
+
+        assertThat(parallel.getRecordCount(), is(equalTo(sequential.getRecordCount())));
+        assertThat(new ArrayList<>(parallel.getCheckers()), is(equalTo(new ArrayList<>(sequential.getCheckers()))));
+        for (String checker : sequential.getCheckers()) {
+            List<ReportInfo> expected = new ArrayList<>(sequential.getReportsFor(checker));
+            List<ReportInfo> actual = new ArrayList<>(parallel.getReportsFor(checker));
+            assertThat(actual, is(equalTo(expected)));
+            for (int i = 0; i < expected.size(); ++i) {
+                assertThat(actual.get(i).getChildren(), is(equalTo(expected.get(i).getChildren())));
+                String file = SearchList.getFileOf(expected.get(i));
+                assertThat(new ArrayList<>(parallel.getReportsIn(file)),
+                        is(equalTo(new ArrayList<>(sequential.getReportsIn(file)))));
+            }
+        }
+    }
+
+    /**
+     * A runtime failure of the parsing fails that one file, whether the plists are parsed on the calling
+     * thread or on several threads.
+     * @throws Exception Thrown when the test plists cannot be copied.
+     */
+    @Test
+    public void runtimeFailureFailsTheFileOnly() throws Exception {
+        final File bad = new File(folder.getRoot(), "bad.plist");
+        File good = new File(folder.getRoot(), "good.plist");
+        Path source = Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests",
+                Utils.RES + "plists/test_plist_1.plist");
+        Files.copy(source, bad.toPath());
+        Files.copy(source, good.toPath());
+        PlistParser failing = new PlistParser(proj) {
+            @Override
+            public List<ReportInfo> tryParseReports(File file) {
+                if (file.equals(bad))
+                    throw new IllegalStateException("Unexpected content");
+                return super.tryParseReports(file);
+            }
+        };
+        int expected = parser.parseReports(good).size();
+
+        for (int threads : new int[] { 1, PARALLEL_THREADS }) {
+            failing.setParseThreads(threads);
+            PlistManifest manifest = new PlistManifest();
+            List<File> plists = new ArrayList<>();
+            plists.add(bad);
+            plists.add(good);
+            SearchList reports = failing.processResults(plists, manifest);
+            assertThat(reports.getRecordCount(), is(equalTo(expected)));
+            assertThat(manifest.size(), is(equalTo(1)));
+        }
+    }
+
+    /**
+     * The reports parsed with the same pool share their file path and checker name instances.
+     */
+    @Test
+    public void sharedStringPool() {
+        Path file = null;
+        try {
+            file = Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests",
+                    Utils.RES + "plists/test_plist_1.plist");
+        } catch (URISyntaxException | IOException e) {
+            e.printStackTrace();
+        }
+        parser.setStringPool(new StringPool());
+        List<ReportInfo> first = parser.parseReports(file.toFile());
+        List<ReportInfo> second = parser.parseReports(file.toFile());
+
+        assertThat(first.isEmpty(), is(false));
+        for (int i = 0; i < first.size(); ++i) {
+            assertThat(second.get(i).getCheckerId() == first.get(i).getCheckerId(), is(true));
+            assertThat(second.get(i).getFile() == first.get(i).getFile(), is(true));
+        }
+    }
 }
@@ -0,0 +1,60 @@
+package org.codechecker.eclipse.plugin.report;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests that the packed {@link ProblemInfo} gives back the items it was created from.
+ */
+public class ProblemInfoTest {
+
+    private static final ImmutableList<BugPathItem> POINTS = ImmutableList.of(
+            new BugPathItem(new Position(1, 2), new Position(1, 2), "first", "/a.cpp"),
+            new BugPathItem(new Position(3, 4), new Position(3, 4), "", "/b.h"),
+            new BugPathItem(new Position(5, 6), new Position(5, 6), "last", "/a.cpp"));
+
+    private static final ImmutableList<BugPathItem> RANGES = ImmutableList.of(
+            new BugPathItem(new Position(1, 2), new Position(1, 2), "first", "/a.cpp"),
+            new BugPathItem(new Position(3, 4), new Position(7, 8), "range", "/b.h"));
+
+    /**
+     * Paths of point like items are unpacked unchanged.
+     */
+    @Test
+    public void testPoints() {
+        ProblemInfo path = new ProblemInfo(POINTS);
+        assertThat(path.size(), is(equalTo(POINTS.size())));
+        assertThat(path.getItems(), is(equalTo(POINTS)));
+        for (int i = 0; i < POINTS.size(); ++i) {
+            assertThat(path.getMessage(i), is(equalTo(POINTS.get(i).getMessage())));
+            assertThat(path.getFile(i), is(equalTo(POINTS.get(i).getFile())));
+        }
+    }
+
+    /**
+     * Paths with ranges keep their end positions.
+     */
+    @Test
+    public void testRanges() {
+        ProblemInfo path = new ProblemInfo(RANGES);
+        assertThat(path.getItems(), is(equalTo(RANGES)));
+        assertThat(path.getItem(1).getEndPosition(), is(equalTo(new Position(7, 8))));
+    }
+
+    /**
+     * Equality follows the items.
+     */
+    @Test
+    public void testEquals() {
+        assertThat(new ProblemInfo(POINTS), is(equalTo(new ProblemInfo(POINTS))));
+        assertThat(new ProblemInfo(POINTS).hashCode(), is(equalTo(new ProblemInfo(POINTS).hashCode())));
+        assertThat(new ProblemInfo(POINTS), is(not(equalTo(new ProblemInfo(RANGES)))));
+    }
+}
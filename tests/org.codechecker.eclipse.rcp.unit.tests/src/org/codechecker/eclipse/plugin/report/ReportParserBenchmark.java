@@ -0,0 +1,116 @@
+package org.codechecker.eclipse.plugin.report;
+
+import org.codechecker.eclipse.plugin.config.Config.ConfigTypes;
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.codechecker.eclipse.rcp.shared.utils.Benchmarks;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Shows how the number of view refreshes and the filtering latency scale with the number of reports in
+ * a file, when the partial results are delivered per report, and when they are batched.
+ *
+ * The listener stands in for the report list view, every delivery walks the whole model like a tree
+ * refresh does.
+ */
+public class ReportParserBenchmark {
+    private static final int[] REPORTS_IN_FILE = { 100, 1000, 5000, 10000 };
+    private static final String FILE = "/src/benchmark.cpp";
+    private static final int CHECKERS = 20;
+
+    /**
+     * Runs the benchmark and prints the results to standard out.
+     */
+    @Test
+    public void compareBatching() {
+        int defaultSize = Integer.parseInt(ConfigTypes.REPORT_BATCH_SIZE.getDefaultValue());
+        int defaultWindow = Integer.parseInt(ConfigTypes.REPORT_BATCH_WINDOW.getDefaultValue());
+        Benchmarks.Table table = new Benchmarks.Table("reports", "batching", "refreshes", "time(ms)");
+        for (int n : REPORTS_IN_FILE) {
+            SearchList reports = generate(n);
+            measure(table, n, "per report", reports, 1, 0);
+            measure(table, n, "size " + defaultSize, reports, defaultSize, 0);
+            measure(table, n, "default", reports, defaultSize, defaultWindow);
+        }
+        table.print();
+    }
+
+    /**
+     * Filters the reports for the file once, and adds the number of refreshes and the elapsed time to the
+     * table.
+     * @param table The results.
+     * @param n Number of reports.
+     * @param batching Description of the batching.
+     * @param reports The reports of the project.
+     * @param batchSize Batch size of the partial results.
+     * @param batchWindow Minimal time between the partial results.
+     */
+    private static void measure(Benchmarks.Table table, int n, String batching, SearchList reports,
+            int batchSize, long batchWindow) {
+        final int[] refreshes = { 0 };
+        final long[] visited = { 0 };
+        ReportParser parser = new ReportParser(reports, FILE);
+        parser.setBatchSize(batchSize);
+        parser.setBatchWindow(batchWindow);
+        parser.addListener(new SearchListener() {
+            @Override
+            public void onTotalCountAvailable(SearchList sl, int count) {
+                refresh(sl);
+                assertThat(sl.getRecordCount(), is(equalTo(reports.getRecordCount())));
+            }
+
+            @Override
+            public void onPartsArrived(SearchList sl) {
+                refresh(sl);
+            }
+
+            /**
+             * Walks the model like a refresh of the tree.
+             * @param sl The model.
+             */
+            private void refresh(SearchList sl) {
+                ++refreshes[0];
+                for (String checker : sl.getCheckers()) {
+                    for (ReportInfo report : sl.getReportsFor(checker)) {
+                        visited[0] += report.getCheckerMsg().length();
+                    }
+                }
+            }
+
+            @Override
+            public void onStart(Object obj) {}
+
+            @Override
+            public void onComplete() {}
+
+            @Override
+            public void onTimeout() {}
+
+            @Override
+            public void onJobInternalError(RuntimeException e) {}
+        });
+        long time = Benchmarks.time(parser::run);
+        table.row(n, batching, refreshes[0], Benchmarks.millis(time));
+    }
+
+    /**
+     * @param n Number of reports.
+     * @return A model with n reports in the same file.
+     */
+    private static SearchList generate(int n) {
+        ImmutableList.Builder<ReportInfo> reports = ImmutableList.builder();
+        for (int i = 0; i < n; ++i) {
+            Position position = new Position(i + 1, 1);
+            reports.add(PlistParser.createReport("core.Checker" + i % CHECKERS, "Report " + i,
+                    ImmutableList.of(new BugPathItem(position, position, "Event " + i, FILE))));
+        }
+        SearchList sl = new SearchList();
+        sl.addReports(reports.build());
+        return sl;
+    }
+}
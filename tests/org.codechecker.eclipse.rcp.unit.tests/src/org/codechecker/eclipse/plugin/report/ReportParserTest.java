@@ -0,0 +1,179 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.codechecker.eclipse.rcp.shared.utils.Utils;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the filtering of the reports by file.
+ */
+public class ReportParserTest {
+    private static final int SYNTHETIC_REPORTS = 10;
+    private static final int BATCH_SIZE = 3;
+    private static final String SYNTHETIC_FILE = "/src/synthetic.cpp";
+
+    private SearchList reports;
+    private int parts;
+
+    /**
+     * Parses the test plists into one {@link SearchList}.
+     * @throws IOException Thrown when the test resources cannot be read.
+     * @throws URISyntaxException Thrown when the test resources cannot be located.
+     */
+    @Before
+    public void setUp() throws IOException, URISyntaxException {
+        PlistParser parser = new PlistParser(mock(IProject.class));
+        reports = new SearchList();
+        for (String name : new String[] { "test_plist_1.plist", "test_plist_2.plist" }) {
+            parser.parsePlist(Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests",
+                    Utils.RES + "plists/" + name).toFile(), reports);
+        }
+    }
+
+    /**
+     * Every report of a file gets copied over, and only those.
+     */
+    @Test
+    public void testFilterByFile() {
+        List<String> files = new ArrayList<>();
+        for (String checker : reports.getCheckers()) {
+            for (ReportInfo report : reports.getReportsFor(checker)) {
+                if (!files.contains(SearchList.getFileOf(report)))
+                    files.add(SearchList.getFileOf(report));
+            }
+        }
+        assertThat(files.isEmpty(), is(false));
+
+        int total = 0;
+        for (String file : files) {
+            List<ReportInfo> expected = new ArrayList<>();
+            for (String checker : reports.getCheckers()) {
+                for (ReportInfo report : reports.getReportsFor(checker)) {
+                    if (SearchList.getFileOf(report).equals(file))
+                        expected.add(report);
+                }
+            }
+
+            SearchList filtered = filter(file);
+            List<ReportInfo> actual = new ArrayList<>();
+            for (String checker : filtered.getCheckers()) {
+                actual.addAll(filtered.getReportsFor(checker));
+            }
+            assertThat(actual, is(equalTo(expected)));
+            total += actual.size();
+        }
+        assertThat(total, is(equalTo(reports.getRecordCount())));
+    }
+
+    /**
+     * The partial results are delivered in batches, not once per report.
+     */
+    @Test
+    public void testBatchedParts() {
+        reports = new SearchList();
+        ImmutableList.Builder<ReportInfo> synthetic = ImmutableList.builder();
+        for (int i = 0; i < SYNTHETIC_REPORTS; ++i) {
+            Position position = new Position(i + 1, 1);
+            synthetic.add(PlistParser.createReport("core.Checker", "Report " + i,
+                    ImmutableList.of(new BugPathItem(position, position, "Event " + i, SYNTHETIC_FILE))));
+        }
+        reports.addReports(synthetic.build());
+
+        SearchList filtered = filter(SYNTHETIC_FILE, BATCH_SIZE, 0);
+        assertThat(filtered.getRecordCount(), is(equalTo(SYNTHETIC_REPORTS)));
+        assertThat(parts, is(equalTo(SYNTHETIC_REPORTS / BATCH_SIZE)));
+    }
+
+    /**
+     * A canceled filtering delivers nothing.
+     */
+    @Test
+    public void testCanceled() {
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        final List<SearchList> delivered = new ArrayList<>();
+        ReportParser parser = new ReportParser(reports, SearchList.getFileOf(
+                reports.getReportsFor(reports.getCheckers().iterator().next()).iterator().next()));
+        parser.setMonitor(monitor);
+        parser.addListener(new CollectingListener(delivered));
+        parser.run();
+        assertThat(delivered.isEmpty(), is(true));
+    }
+
+    /**
+     * @param file The file to filter for.
+     * @return The result of the filtering.
+     */
+    private SearchList filter(String file) {
+        return filter(file, 1, 0);
+    }
+
+    /**
+     * @param file The file to filter for.
+     * @param batchSize Batch size of the partial results.
+     * @param batchWindow Minimal time between the partial results.
+     * @return The result of the filtering.
+     */
+    private SearchList filter(String file, int batchSize, long batchWindow) {
+        final List<SearchList> result = new ArrayList<>();
+        parts = 0;
+        ReportParser parser = new ReportParser(reports, file);
+        parser.setBatchSize(batchSize);
+        parser.setBatchWindow(batchWindow);
+        parser.addListener(new CollectingListener(result));
+        parser.run();
+        assertThat(result.size(), is(equalTo(1)));
+        return result.get(0);
+    }
+
+    /**
+     * Collects the final results, and counts the partial ones.
+     */
+    private final class CollectingListener implements SearchListener {
+        private final List<SearchList> result;
+
+        /**
+         * @param result The final results are added to this.
+         */
+        CollectingListener(List<SearchList> result) {
+            this.result = result;
+        }
+
+        @Override
+        public void onTotalCountAvailable(SearchList sl, int count) {
+            result.add(sl);
+        }
+
+        @Override
+        public void onPartsArrived(SearchList sl) {
+            ++parts;
+        }
+
+        @Override
+        public void onStart(Object obj) {}
+
+        @Override
+        public void onComplete() {}
+
+        @Override
+        public void onTimeout() {}
+
+        @Override
+        public void onJobInternalError(RuntimeException e) {}
+    }
+}
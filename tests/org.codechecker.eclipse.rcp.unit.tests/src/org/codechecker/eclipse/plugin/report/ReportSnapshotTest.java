@@ -0,0 +1,78 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codechecker.eclipse.rcp.shared.utils.Utils;
+import org.eclipse.core.resources.IProject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests that a {@link ReportSnapshot} gives back the saved manifest.
+ */
+public class ReportSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The entries and all reports with their bug paths survive a write and read.
+     * @throws IOException Thrown when the files cannot be copied, written or read.
+     * @throws URISyntaxException Thrown when the test resources cannot be located.
+     */
+    @Test
+    public void testRoundTrip() throws IOException, URISyntaxException {
+        PlistParser parser = new PlistParser(mock(IProject.class));
+        PlistManifest manifest = new PlistManifest();
+        for (String name : new String[] { "test_plist_1.plist", "test_plist_2.plist" }) {
+            File plist = new File(folder.getRoot(), name);
+            Files.copy(Utils.loadFileFromBundle("org.codechecker.eclipse.rcp.unit.tests",
+                    Utils.RES + "plists/" + name), plist.toPath());
+            manifest.put(plist, manifest.refresh(plist, parser::parseReports));
+        }
+
+        Path snapshot = folder.getRoot().toPath().resolve("reports.snapshot");
+        ReportSnapshot.write(manifest, snapshot);
+        PlistManifest loaded = ReportSnapshot.read(snapshot);
+
+        assertThat(loaded.getEntries().keySet(), is(equalTo(manifest.getEntries().keySet())));
+        for (File plist : manifest.getEntries().keySet()) {
+            PlistManifest.Entry expected = manifest.getEntries().get(plist);
+            PlistManifest.Entry actual = loaded.getEntries().get(plist);
+            assertThat(actual.getLastModified(), is(equalTo(expected.getLastModified())));
+            assertThat(actual.getSize(), is(equalTo(expected.getSize())));
+            assertThat(actual.getHash(), is(equalTo(expected.getHash())));
+            assertThat(actual.getReports(), is(equalTo(expected.getReports())));
+            List<Object> expectedPaths = new ArrayList<>();
+            List<Object> actualPaths = new ArrayList<>();
+            for (int i = 0; i < expected.getReports().size(); ++i) {
+                expectedPaths.add(expected.getReports().get(i).getChildren());
+                actualPaths.add(actual.getReports().get(i).getChildren());
+            }
+            assertThat(actualPaths, is(equalTo(expectedPaths)));
+        }
+        assertThat(loaded.getChanged(manifest.getEntries().keySet()).isEmpty(), is(true));
+    }
+
+    /**
+     * A file that is not a snapshot is rejected.
+     * @throws IOException Expected.
+     */
+    @Test(expected = IOException.class)
+    public void testCorrupt() throws IOException {
+        Path snapshot = folder.newFile("reports.snapshot").toPath();
+        Files.write(snapshot, new byte[] { 1, 2, 3 });
+        ReportSnapshot.read(snapshot);
+    }
+}
@@ -0,0 +1,201 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the watching of the results directory.
+ */
+public class ResultsWatcherTest {
+    private static final long SETTLE_TIME = 100;
+    private static final long TIMEOUT = 10000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final BlockingQueue<List<File>> batches = new LinkedBlockingQueue<>();
+    private Path results;
+    private ResultsWatcher watcher;
+    private int maxBatchSize;
+    // The consumer throws after recording the next batch.
+    private volatile boolean failNext;
+
+    /**
+     * Starts watching a results directory that doesn't exist yet.
+     * @throws IOException Not expected.
+     */
+    @Before
+    public void setUp() throws IOException {
+        results = folder.getRoot().toPath().resolve("results");
+        watcher = new ResultsWatcher(results, SETTLE_TIME, new Consumer<List<File>>() {
+            @Override
+            public void accept(List<File> plists) {
+                batches.add(plists);
+                if (failNext) {
+                    failNext = false;
+                    throw new IllegalStateException("Failed batch");
+                }
+            }
+        });
+        watcher.start();
+    }
+
+    /**
+     * Stops the watcher.
+     */
+    @After
+    public void tearDown() {
+        watcher.close();
+    }
+
+    /**
+     * The new and the removed plists are handed over, the other files are not.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testCreatedAndRemoved() throws Exception {
+        Files.createDirectory(results);
+        Path plist = results.resolve("a.plist");
+        Files.write(plist, "<plist/>".getBytes(StandardCharsets.UTF_8));
+        Files.write(results.resolve("metadata.json"), "{}".getBytes(StandardCharsets.UTF_8));
+        assertThat(collect(), is(equalTo(singleton(plist))));
+
+        Files.delete(plist);
+        assertThat(collect(), is(equalTo(singleton(plist))));
+    }
+
+    /**
+     * A plist being written is handed over once, after it was not touched for the settle time.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testSettle() throws Exception {
+        Files.createDirectory(results);
+        Path plist = results.resolve("b.plist");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5; ++i) {
+            content.append("<dict/>");
+            Files.write(plist, content.toString().getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(SETTLE_TIME / 5);
+        }
+        assertThat(collect(), is(equalTo(singleton(plist))));
+        assertThat(batches.poll(SETTLE_TIME * 5, TimeUnit.MILLISECONDS), is(nullValue()));
+    }
+
+    /**
+     * The directory is watched again after it was removed and created, and a large drop is handed over
+     * in several batches.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testRecreatedAndBatched() throws Exception {
+        watcher.close();
+        watcher.setBatchSize(2);
+        Files.createDirectory(results);
+        Files.write(results.resolve("old.plist"), "<plist/>".getBytes(StandardCharsets.UTF_8));
+        watcher.start();
+        assertThat(collect().size(), is(equalTo(1)));
+
+        Files.delete(results.resolve("old.plist"));
+        Files.delete(results);
+        assertThat(collect().size(), is(equalTo(1)));
+
+        Files.createDirectory(results);
+        Set<File> expected = new HashSet<>();
+        for (int i = 0; i < 5; ++i) {
+            Path plist = results.resolve(i + ".plist");
+            Files.write(plist, "<plist/>".getBytes(StandardCharsets.UTF_8));
+            expected.add(plist.toFile());
+        }
+        assertThat(collect(), is(equalTo(expected)));
+        assertThat(maxBatchSize <= 2, is(true));
+    }
+
+    /**
+     * The watcher is not running after it stopped on its own, when the parent of the directory was
+     * removed.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testParentRemoved() throws Exception {
+        Path parent = folder.newFolder("parent").toPath();
+        ResultsWatcher orphan = new ResultsWatcher(parent.resolve("results"), SETTLE_TIME,
+                new Consumer<List<File>>() {
+                    @Override
+                    public void accept(List<File> plists) {
+                        batches.add(plists);
+                    }
+                });
+        orphan.start();
+        assertThat(orphan.isRunning(), is(true));
+        Files.delete(parent);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+        while (orphan.isRunning() && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertThat(orphan.isRunning(), is(false));
+    }
+
+    /**
+     * The watcher keeps running when the consumer fails on a batch.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testConsumerFailed() throws Exception {
+        Files.createDirectory(results);
+        failNext = true;
+        Path first = results.resolve("a.plist");
+        Files.write(first, "<plist/>".getBytes(StandardCharsets.UTF_8));
+        assertThat(collect(), is(equalTo(singleton(first))));
+
+        Path second = results.resolve("b.plist");
+        Files.write(second, "<plist/>".getBytes(StandardCharsets.UTF_8));
+        assertThat(collect(), is(equalTo(singleton(second))));
+        assertThat(watcher.isRunning(), is(true));
+    }
+
+    /**
+     * @return The plists of the batches handed over until none arrives for a while.
+     * @throws InterruptedException Not expected.
+     */
+    private Set<File> collect() throws InterruptedException {
+        Set<File> plists = new HashSet<>();
+        List<File> batch = batches.poll(TIMEOUT, TimeUnit.MILLISECONDS);
+        while (batch != null) {
+            plists.addAll(batch);
+            maxBatchSize = Math.max(maxBatchSize, batch.size());
+            batch = batches.poll(SETTLE_TIME * 3, TimeUnit.MILLISECONDS);
+        }
+        return plists;
+    }
+
+    /**
+     * @param path A path.
+     * @return A set of the file.
+     */
+    private static Set<File> singleton(Path path) {
+        Set<File> files = new HashSet<>();
+        files.add(path.toFile());
+        return files;
+    }
+}
@@ -0,0 +1,78 @@
+package org.codechecker.eclipse.plugin.report;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the counts kept by the {@link SearchList}.
+ */
+public class SearchListTest {
+    private static final String MAIN = "/src/main.cpp";
+    private static final String UTIL = "/src/util.cpp";
+
+    /**
+     * The counts follow the added reports, and the duplicates are not counted.
+     */
+    @Test
+    public void testCounts() {
+        SearchList reports = new SearchList();
+        assertThat(reports.getReportCount("core.DivideZero"), is(equalTo(0)));
+        assertThat(reports.getFileCount(), is(equalTo(0)));
+
+        ReportInfo duplicate = create("core.DivideZero", MAIN, 1);
+        reports.addReports(ImmutableList.of(duplicate, create("core.DivideZero", MAIN, 2),
+                create("core.NullDereference", UTIL, 3)));
+        reports.addReports(ImmutableList.of(duplicate, create("core.NullDereference", MAIN, 4)));
+
+        assertThat(reports.getRecordCount(), is(equalTo(4)));
+        assertThat(reports.getReportCount("core.DivideZero"), is(equalTo(2)));
+        assertThat(reports.getReportCount("core.NullDereference"), is(equalTo(2)));
+        assertThat(reports.getReportCountIn(MAIN), is(equalTo(3)));
+        assertThat(reports.getReportCountIn(UTIL), is(equalTo(1)));
+        assertThat(reports.getReportCountIn("/src/other.cpp"), is(equalTo(0)));
+        assertThat(reports.getFileCount(), is(equalTo(2)));
+    }
+
+    /**
+     * A report added several times is only removed with its last occurrence, and the removed reports
+     * disappear from every index.
+     */
+    @Test
+    public void testRemove() {
+        SearchList reports = new SearchList();
+        ReportInfo shared = create("core.DivideZero", MAIN, 1);
+        ReportInfo single = create("core.NullDereference", UTIL, 2);
+        reports.addReports(ImmutableList.of(shared, single));
+        reports.addReports(ImmutableList.of(create("core.DivideZero", MAIN, 1)));
+
+        reports.removeReports(ImmutableList.of(shared, single));
+        assertThat(reports.getRecordCount(), is(equalTo(1)));
+        assertThat(reports.getReportCount("core.NullDereference"), is(equalTo(0)));
+        assertThat(reports.getCheckers().contains("core.NullDereference"), is(false));
+        assertThat(reports.getReportCountIn(MAIN), is(equalTo(1)));
+        assertThat(reports.getFileCount(), is(equalTo(1)));
+
+        reports.removeReports(ImmutableList.of(create("core.DivideZero", MAIN, 1)));
+        assertThat(reports.getRecordCount(), is(equalTo(0)));
+        assertThat(reports.getFileCount(), is(equalTo(0)));
+        assertThat(reports.getCheckers().isEmpty(), is(true));
+    }
+
+    /**
+     * @param checker The checker of the report.
+     * @param file The file of the report.
+     * @param line The line of the report, also makes the report unique.
+     * @return A report with one bug path item.
+     */
+    private static ReportInfo create(String checker, String file, int line) {
+        Position position = new Position(line, 1);
+        return PlistParser.createReport(checker, "Report " + line,
+                ImmutableList.of(new BugPathItem(position, position, "Event " + line, file)));
+    }
+}
@@ -0,0 +1,76 @@
+package org.codechecker.eclipse.plugin.report;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codechecker.eclipse.rcp.shared.utils.Benchmarks;
+import org.eclipse.core.resources.IProject;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the heap retained by the parsed reports of a results directory, with and without a shared
+ * {@link StringPool}.
+ */
+public class StringPoolBenchmark {
+    private static final int PLISTS = 40;
+    private static final int DIAGNOSTICS_PER_PLIST = 500;
+
+    private IProject proj = mock(IProject.class);
+
+    /**
+     * Runs the benchmark and prints the results to standard out.
+     * @throws IOException Thrown when the synthetic files cannot be written.
+     */
+    @Test
+    public void comparePools() throws IOException {
+        List<File> plists = new ArrayList<>();
+        for (int i = 0; i < PLISTS; ++i) {
+            plists.add(PlistParserBenchmark.generatePlist(DIAGNOSTICS_PER_PLIST));
+        }
+
+        // A pool that keeps every string as it was read.
+        StringPool none = new StringPool() {
+            @Override
+            public String intern(String s) {
+                return s;
+            }
+        };
+        Benchmarks.Table table = new Benchmarks.Table("pool", "reports", "retained heap(MB)");
+        int withoutPool = measure(plists, none, "none", table);
+        int withPool = measure(plists, new StringPool(), "shared", table);
+        assertThat(withPool, is(equalTo(withoutPool)));
+        table.print();
+    }
+
+    /**
+     * Parses every plist with the same pool and adds the heap held by the results to the table.
+     * @param plists The files to be parsed.
+     * @param pool The pool used for all files.
+     * @param name The name of the pool in the table.
+     * @param table The results.
+     * @return The number of the parsed reports.
+     */
+    private int measure(List<File> plists, StringPool pool, String name, Benchmarks.Table table) {
+        PlistParser parser = new PlistParser(proj);
+        parser.setStringPool(pool);
+        long baseline = Benchmarks.usedHeap();
+        List<List<ReportInfo>> retained = new ArrayList<>(plists.size());
+        for (File plist : plists) {
+            retained.add(parser.parseReports(plist));
+        }
+        long heap = Benchmarks.usedHeap() - baseline;
+        int reports = 0;
+        for (List<ReportInfo> parsed : retained) {
+            reports += parsed.size();
+        }
+        table.row(name, reports, Benchmarks.megabytes(heap));
+        return reports;
+    }
+}
@@ -0,0 +1,170 @@
+package org.codechecker.eclipse.plugin.report.job;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the coalescing of the analysis requests.
+ */
+public class AnalysisSchedulerTest {
+    private static final long WINDOW = 50;
+    private static final long TIMEOUT = 5000;
+
+    private final AtomicInteger analyses = new AtomicInteger();
+    private final AtomicInteger parses = new AtomicInteger();
+    private CountDownLatch started;
+    private CountDownLatch release;
+    private AnalysisScheduler scheduler;
+
+    /**
+     * Creates a scheduler with counting jobs, the analyses run until they are released.
+     */
+    @Before
+    public void setUp() {
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(0);
+        scheduler = new AnalysisScheduler(new Mutex(), new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return WINDOW;
+            }
+        }, new Supplier<Job>() {
+            @Override
+            public Job get() {
+                return new Job("analysis") {
+                    @Override
+                    protected IStatus run(IProgressMonitor monitor) {
+                        analyses.incrementAndGet();
+                        started.countDown();
+                        try {
+                            release.await(TIMEOUT, TimeUnit.MILLISECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return Status.OK_STATUS;
+                    }
+                };
+            }
+        }, new Supplier<Job>() {
+            @Override
+            public Job get() {
+                return new Job("parse") {
+                    @Override
+                    protected IStatus run(IProgressMonitor monitor) {
+                        parses.incrementAndGet();
+                        return Status.OK_STATUS;
+                    }
+                };
+            }
+        });
+    }
+
+    /**
+     * The requests in the window are served by one analysis.
+     * @throws InterruptedException Thrown when the test is interrupted.
+     */
+    @Test
+    public void testCoalescedInWindow() throws InterruptedException {
+        for (int i = 0; i < 5; ++i)
+            scheduler.requestAnalysis();
+        waitFor(() -> parses.get() == 1);
+        Thread.sleep(WINDOW * 2);
+        assertThat(analyses.get(), is(equalTo(1)));
+        assertThat(scheduler.getCoalescedCount(), is(equalTo(4)));
+    }
+
+    /**
+     * The requests during an analysis are served by one more analysis.
+     * @throws InterruptedException Thrown when the test is interrupted.
+     */
+    @Test
+    public void testOnePendingAnalysis() throws InterruptedException {
+        release = new CountDownLatch(1);
+        scheduler.requestAnalysis();
+        assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS), is(equalTo(true)));
+        for (int i = 0; i < 3; ++i)
+            scheduler.requestAnalysis();
+        release.countDown();
+        waitFor(() -> parses.get() == 2);
+        Thread.sleep(WINDOW * 2);
+        assertThat(analyses.get(), is(equalTo(2)));
+        assertThat(parses.get(), is(equalTo(2)));
+    }
+
+    /**
+     * A cancelled request is not analyzed.
+     * @throws InterruptedException Thrown when the test is interrupted.
+     */
+    @Test
+    public void testCancelledInWindow() throws InterruptedException {
+        scheduler.requestAnalysis();
+        scheduler.cancel();
+        Thread.sleep(WINDOW * 4);
+        assertThat(analyses.get(), is(equalTo(0)));
+        scheduler.requestAnalysis();
+        waitFor(() -> parses.get() == 1);
+        assertThat(analyses.get(), is(equalTo(1)));
+    }
+
+    /**
+     * The results of an analysis that was running when the scheduler was disposed are not parsed, and
+     * the pending request is dropped.
+     * @throws InterruptedException Thrown when the test is interrupted.
+     */
+    @Test
+    public void testDisposedWhileAnalyzing() throws InterruptedException {
+        release = new CountDownLatch(1);
+        scheduler.requestAnalysis();
+        assertThat(started.await(TIMEOUT, TimeUnit.MILLISECONDS), is(equalTo(true)));
+        scheduler.requestAnalysis();
+        scheduler.dispose();
+        release.countDown();
+        Thread.sleep(WINDOW * 4);
+        scheduler.requestAnalysis();
+        Thread.sleep(WINDOW * 4);
+        assertThat(analyses.get(), is(equalTo(1)));
+        assertThat(parses.get(), is(equalTo(0)));
+    }
+
+    /**
+     * @param condition Waited for.
+     * @throws InterruptedException Thrown when the test is interrupted.
+     */
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertThat(condition.getAsBoolean(), is(equalTo(true)));
+    }
+
+    /**
+     * A rule conflicting only with itself.
+     */
+    private static class Mutex implements ISchedulingRule {
+        @Override
+        public boolean contains(ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        @Override
+        public boolean isConflicting(ISchedulingRule rule) {
+            return rule == this;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.codechecker.eclipse.plugin.report.job;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the sharing of the analysis slots.
+ */
+public class AnalysisSlotsTest {
+    private static final int CAPACITY = 8;
+    private static final long TIMEOUT = 5000;
+
+    private AnalysisSlots slots;
+    private ExecutorService executor;
+
+    /**
+     * Creates a budget of 8 slots.
+     */
+    @Before
+    public void setUp() {
+        slots = new AnalysisSlots(new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                return CAPACITY;
+            }
+        });
+        executor = Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Stops the waiting requests.
+     */
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A lone analysis gets the slots it wants, up to the capacity, and gives them back when closed.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testLease() throws Exception {
+        AnalysisSlots.Lease lease = slots.acquire(4, new NullProgressMonitor()).get();
+        assertThat(lease.getSlots(), is(equalTo(4)));
+        assertThat(slots.getUsedSlots(), is(equalTo(4)));
+        lease.close();
+        lease.close();
+        assertThat(slots.getUsedSlots(), is(equalTo(0)));
+
+        lease = slots.acquire(100, new NullProgressMonitor()).get();
+        assertThat(lease.getSlots(), is(equalTo(CAPACITY)));
+        lease.close();
+    }
+
+    /**
+     * The waiting analyses are served in order, each with its fair share.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testFairShare() throws Exception {
+        AnalysisSlots.Lease first = slots.acquire(CAPACITY, new NullProgressMonitor()).get();
+        Future<AnalysisSlots.Lease> second = acquireLater(CAPACITY, new NullProgressMonitor());
+        waitForQueueDepth(1);
+        Future<AnalysisSlots.Lease> third = acquireLater(CAPACITY, new NullProgressMonitor());
+        waitForQueueDepth(2);
+
+        first.close();
+        // Two analyses share the slots.
+        assertThat(second.get(TIMEOUT, TimeUnit.MILLISECONDS).getSlots(), is(equalTo(CAPACITY / 2)));
+        assertThat(third.get(TIMEOUT, TimeUnit.MILLISECONDS).getSlots(), is(equalTo(CAPACITY / 2)));
+        assertThat(slots.getUsedSlots(), is(equalTo(CAPACITY)));
+        assertThat(slots.getQueueDepth(), is(equalTo(0)));
+        assertThat(slots.getUtilization() > 0, is(true));
+    }
+
+    /**
+     * A cancelled request is withdrawn.
+     * @throws Exception Not expected.
+     */
+    @Test
+    public void testCancel() throws Exception {
+        AnalysisSlots.Lease first = slots.acquire(CAPACITY, new NullProgressMonitor()).get();
+        IProgressMonitor monitor = new NullProgressMonitor();
+        Future<AnalysisSlots.Lease> second = acquireLater(1, monitor);
+        waitForQueueDepth(1);
+        monitor.setCanceled(true);
+        assertThat(second.get(TIMEOUT, TimeUnit.MILLISECONDS) == null, is(true));
+        assertThat(slots.getQueueDepth(), is(equalTo(0)));
+        first.close();
+    }
+
+    /**
+     * @param wanted The wanted slots.
+     * @param monitor The monitor of the request.
+     * @return The lease of the request made on another thread, null if cancelled.
+     */
+    private Future<AnalysisSlots.Lease> acquireLater(final int wanted, final IProgressMonitor monitor) {
+        return executor.submit(new Callable<AnalysisSlots.Lease>() {
+            @Override
+            public AnalysisSlots.Lease call() throws InterruptedException {
+                Optional<AnalysisSlots.Lease> lease = slots.acquire(wanted, monitor);
+                return lease.orNull();
+            }
+        });
+    }
+
+    /**
+     * @param depth The expected number of the waiting requests.
+     * @throws InterruptedException Not expected.
+     */
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+        while (slots.getQueueDepth() != depth && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        assertThat(slots.getQueueDepth(), is(equalTo(depth)));
+    }
+}
@@ -0,0 +1,88 @@
+package org.codechecker.eclipse.plugin.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the batching of the lines.
+ */
+public class BufferedLineSinkTest {
+    private static final long LONG_INTERVAL = 60000;
+    private static final long SHORT_INTERVAL = 10;
+    private static final long TIMEOUT = 5000;
+
+    private List<String> batches;
+    private Consumer<String> target;
+
+    /**
+     * The batches are collected.
+     */
+    @Before
+    public void setUp() {
+        batches = new ArrayList<>();
+        target = new Consumer<String>() {
+            @Override
+            public void accept(String batch) {
+                synchronized (batches) {
+                    batches.add(batch);
+                    batches.notifyAll();
+                }
+            }
+        };
+    }
+
+    /**
+     * The lines are handed over together.
+     */
+    @Test
+    public void testBatched() {
+        BufferedLineSink sink = new BufferedLineSink(10, LONG_INTERVAL, target);
+        sink.accept("first");
+        sink.accept("second");
+        assertThat(batches.isEmpty(), is(true));
+        sink.close();
+        assertThat(batches.size(), is(equalTo(1)));
+        assertThat(batches.get(0), is(equalTo("first\nsecond\n")));
+    }
+
+    /**
+     * When the buffer is full, the oldest lines are dropped and counted.
+     */
+    @Test
+    public void testDropped() {
+        BufferedLineSink sink = new BufferedLineSink(2, LONG_INTERVAL, target);
+        sink.accept("first");
+        sink.accept("second");
+        sink.accept("third");
+        sink.accept("fourth");
+        sink.close();
+        assertThat(batches.get(0), is(equalTo("... 2 lines dropped ...\nthird\nfourth\n")));
+        assertThat(sink.getDroppedLines(), is(equalTo(2L)));
+    }
+
+    /**
+     * The lines are flushed in the background too.
+     * @throws InterruptedException Thrown when the test is interrupted.
+     */
+    @Test
+    public void testFlushedByTimer() throws InterruptedException {
+        BufferedLineSink sink = new BufferedLineSink(10, SHORT_INTERVAL, target);
+        sink.accept("line");
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        synchronized (batches) {
+            while (batches.isEmpty() && System.currentTimeMillis() < deadline)
+                batches.wait(TIMEOUT);
+        }
+        assertThat(batches.size(), is(equalTo(1)));
+        assertThat(batches.get(0), is(equalTo("line\n")));
+        sink.close();
+    }
+}
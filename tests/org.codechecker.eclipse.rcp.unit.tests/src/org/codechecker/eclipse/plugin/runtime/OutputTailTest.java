@@ -0,0 +1,37 @@
+package org.codechecker.eclipse.plugin.runtime;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests the bounded output buffer.
+ */
+public class OutputTailTest {
+
+    /**
+     * Only the last lines are kept, the others are counted.
+     */
+    @Test
+    public void keepsLastLines() {
+        OutputTail tail = new OutputTail(2);
+        tail.accept("first");
+        tail.accept("second");
+        tail.accept("third");
+        assertThat(tail.toString(), is(equalTo("second\nthird\n")));
+        assertThat(tail.getDroppedLines(), is(equalTo(1L)));
+    }
+
+    /**
+     * A tail of size 0 keeps nothing.
+     */
+    @Test
+    public void keepsNothing() {
+        OutputTail tail = new OutputTail(0);
+        tail.accept("first");
+        assertThat(tail.toString(), is(equalTo("")));
+        assertThat(tail.getDroppedLines(), is(equalTo(1L)));
+    }
+}
@@ -0,0 +1,86 @@
+package org.codechecker.eclipse.plugin.runtime;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.codechecker.eclipse.rcp.shared.utils.Benchmarks;
+import org.codechecker.eclipse.rcp.shared.utils.Utils;
+import org.junit.Test;
+
+/**
+ * Measures the latency from starting a command to its first output line, when the command is run through
+ * bash -c (with the command line parsing and fixing), and when the argument vector is started directly.
+ * The CodeChecker stub of the tests is used, with the version command.
+ */
+public class ShellExecutorHelperBenchmark {
+    private static final int WARMUP = 3;
+    private static final int RUNS = 20;
+
+    /**
+     * Runs the benchmark and prints the results to standard out.
+     */
+    @Test
+    public void compareSpawn() {
+        final Path codeChecker = Utils.prepareCodeChecker().resolve(Paths.get("bin", "CodeChecker"));
+        final ShellExecutorHelper she = new ShellExecutorHelper(System.getenv());
+        final Map<String, File> subMap = new HashMap<>();
+        subMap.put("location", codeChecker.toFile());
+        final List<String> argv = Arrays.asList(codeChecker.toString(), "version");
+
+        Benchmarks.Table table = new Benchmarks.Table("path", "first line(ms)", "total(ms)");
+        measure(table, "bash -c", new Spawn() {
+            @Override
+            public void run(Consumer<String> consumer) {
+                she.streamOutput("${location} version", subMap, consumer);
+            }
+        });
+        measure(table, "argv", new Spawn() {
+            @Override
+            public void run(Consumer<String> consumer) {
+                she.streamOutput(argv, consumer);
+            }
+        });
+        table.print();
+    }
+
+    /**
+     * Adds the average times to the first line and to the end of the command to the table.
+     * @param table The results.
+     * @param path The name of the execution path.
+     * @param spawn Runs the command once.
+     */
+    private static void measure(Benchmarks.Table table, String path, Spawn spawn) {
+        for (int i = 0; i < WARMUP; ++i) {
+            spawn.run(line -> { });
+        }
+        long firstLine = 0;
+        long total = 0;
+        for (int i = 0; i < RUNS; ++i) {
+            final long start = System.nanoTime();
+            final long[] first = { 0 };
+            spawn.run(line -> {
+                if (first[0] == 0)
+                    first[0] = System.nanoTime();
+            });
+            firstLine += first[0] - start;
+            total += System.nanoTime() - start;
+        }
+        table.row(path, Benchmarks.millis((double) firstLine / RUNS), Benchmarks.millis((double) total / RUNS));
+    }
+
+    /**
+     * One execution of the command.
+     */
+    private interface Spawn {
+        /**
+         * @param consumer Gets the output lines.
+         */
+        void run(Consumer<String> consumer);
+    }
+}
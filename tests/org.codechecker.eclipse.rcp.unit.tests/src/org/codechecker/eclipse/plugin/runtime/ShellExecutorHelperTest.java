@@ -3,10 +3,15 @@ package org.codechecker.eclipse.plugin.runtime;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.commons.exec.environment.EnvironmentUtils;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -69,4 +74,51 @@ public class ShellExecutorHelperTest {
     public void echoooFails() {
         assertThat(emptyEnvExecutor.quickAndSuccessfull("echooo 4;", null), is(false));
     }
+
+    /**
+     * Every line is handed to the consumer, in order.
+     */
+    @Test
+    public void streamsLines() {
+        final List<String> lines = new ArrayList<>();
+        assertThat(defaultEnvExecutor.streamOutput("seq 1 5", null, new Consumer<String>() {
+            @Override
+            public void accept(String line) {
+                lines.add(line);
+            }
+        }), is(true));
+        assertThat(lines, is(equalTo(Arrays.asList("1", "2", "3", "4", "5"))));
+    }
+
+    /**
+     * Only the last lines of a long output are returned.
+     */
+    @Test
+    public void progressableKeepsTail() {
+        String output = defaultEnvExecutor.progressableWaitReturnOutput("seq 1 5000", null, false,
+                new NullProgressMonitor(), 1).or("");
+        String[] lines = output.split("\n");
+        assertThat(lines.length, is(equalTo(1000)));
+        assertThat(lines[0], is(equalTo("4001")));
+        assertThat(lines[lines.length - 1], is(equalTo("5000")));
+    }
+
+    /**
+     * The arguments are passed as they are, without a shell splitting them.
+     */
+    @Test
+    public void argvKeepsArguments() {
+        assertThat(emptyEnvExecutor.waitReturnOutput(Arrays.asList("/bin/echo", "a  b", "$HOME"), false).or(""),
+                is(equalTo("a  b $HOME\n")));
+    }
+
+    /**
+     * A failing or missing executable is reported.
+     */
+    @Test
+    public void argvFails() {
+        assertThat(emptyEnvExecutor.waitReturnOutput(Arrays.asList("/bin/false"), false).isPresent(), is(false));
+        assertThat(emptyEnvExecutor.waitReturnOutput(Arrays.asList("/not/an/executable"), false).isPresent(),
+                is(false));
+    }
 }
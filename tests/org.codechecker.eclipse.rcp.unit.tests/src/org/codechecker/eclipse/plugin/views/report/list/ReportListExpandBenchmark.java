@@ -0,0 +1,109 @@
+package org.codechecker.eclipse.plugin.views.report.list;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem;
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.codechecker.eclipse.plugin.report.ProblemInfo;
+import org.codechecker.eclipse.plugin.report.ReportInfo;
+import org.codechecker.eclipse.plugin.report.SearchList;
+import org.codechecker.eclipse.plugin.views.report.list.provider.content.CheckerGroupContentProvider;
+import org.codechecker.eclipse.plugin.views.report.list.provider.content.LazyCheckerGroupContentProvider;
+import org.codechecker.eclipse.rcp.shared.utils.Benchmarks;
+import org.eclipse.jface.viewers.IContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures how long the UI thread is blocked, when a checker with a lot of reports is expanded in the
+ * report list, with the regular and with the lazy content provider. Needs a display.
+ */
+public class ReportListExpandBenchmark {
+    private static final int REPORTS = 50000;
+    private static final String CHECKER = "core.DivideZero";
+    private static final String FILE = "/src/benchmark.cpp";
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 600;
+
+    /**
+     * Runs the benchmark and prints the results to standard out.
+     */
+    @Test
+    public void compareExpand() {
+        SearchList reports = generate();
+        ReportListView view = mock(ReportListView.class);
+        when(view.getReportList()).thenReturn(Optional.of(reports));
+
+        new Benchmarks.Table("reports", "provider", "time(ms)")
+                .row(REPORTS, "regular",
+                        Benchmarks.millis(measure(reports, SWT.NONE, new CheckerGroupContentProvider(view))))
+                .row(REPORTS, "lazy",
+                        Benchmarks.millis(measure(reports, SWT.VIRTUAL, new LazyCheckerGroupContentProvider(view))))
+                .print();
+    }
+
+    /**
+     * Expands the checker in a new shell, and waits for the tree to be painted.
+     * @param reports The model.
+     * @param style Additional style of the tree.
+     * @param provider The content provider to be measured.
+     * @return The elapsed time in nanoseconds.
+     */
+    private static long measure(SearchList reports, int style, IContentProvider provider) {
+        Display display = Display.getDefault();
+        Shell shell = new Shell(display);
+        try {
+            shell.setLayout(new FillLayout());
+            shell.setSize(WIDTH, HEIGHT);
+            TreeViewer viewer = new TreeViewer(shell, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | style);
+            viewer.setUseHashlookup(true);
+            viewer.setContentProvider(provider);
+            viewer.setLabelProvider(new LabelProvider());
+            viewer.setInput(reports);
+            shell.open();
+            flush(display);
+
+            return Benchmarks.time(() -> {
+                viewer.expandToLevel(CHECKER, 1);
+                flush(display);
+            });
+        } finally {
+            shell.dispose();
+        }
+    }
+
+    /**
+     * Processes the pending events, like painting the visible rows.
+     * @param display The display.
+     */
+    private static void flush(Display display) {
+        while (display.readAndDispatch()) {
+            // Nothing to do, only the events are processed.
+        }
+    }
+
+    /**
+     * @return A model with one checker with a lot of reports.
+     */
+    private static SearchList generate() {
+        ImmutableList.Builder<ReportInfo> reports = ImmutableList.builder();
+        for (int i = 0; i < REPORTS; ++i) {
+            Position position = new Position(i + 1, 1);
+            BugPathItem item = new BugPathItem(position, position, "Event " + i, FILE);
+            reports.add(new ReportInfo(CHECKER, "hash" + i, FILE, "Report " + i, i, false, FILE, item,
+                    Optional.of(new ProblemInfo(ImmutableList.of(item)))));
+        }
+        SearchList sl = new SearchList();
+        sl.addReports(reports.build());
+        return sl;
+    }
+}
@@ -0,0 +1,125 @@
+package org.codechecker.eclipse.plugin.views.report.list.provider.label;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem;
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.codechecker.eclipse.plugin.report.ProblemInfo;
+import org.codechecker.eclipse.plugin.report.ReportInfo;
+import org.codechecker.eclipse.plugin.report.SearchList;
+import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
+import org.codechecker.eclipse.plugin.views.report.list.provider.content.CheckerGroupContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the caching of the labels.
+ */
+public class BasicViewLabelProviderTest {
+    private static final String ELEMENT = "core.DivideZero";
+
+    private ReportListView view;
+    private int created;
+
+    /**
+     * The view shows an empty model.
+     */
+    @Before
+    public void setUp() {
+        view = mock(ReportListView.class);
+        when(view.getReportList()).thenReturn(Optional.of(new SearchList()));
+        created = 0;
+    }
+
+    /**
+     * The label of an element is created once for a model.
+     */
+    @Test
+    public void testCached() {
+        BasicViewLabelProvider provider = new CountingLabelProvider(view, 1);
+        assertThat(provider.getText(ELEMENT), is(equalTo(ELEMENT)));
+        assertThat(provider.getText(ELEMENT), is(equalTo(ELEMENT)));
+        assertThat(created, is(equalTo(1)));
+    }
+
+    /**
+     * The labels are created again, when a new model is shown.
+     */
+    @Test
+    public void testInvalidatedByNewModel() {
+        BasicViewLabelProvider provider = new CountingLabelProvider(view, 1);
+        provider.getText(ELEMENT);
+        when(view.getReportList()).thenReturn(Optional.of(new SearchList()));
+        provider.getText(ELEMENT);
+        assertThat(created, is(equalTo(2)));
+    }
+
+    /**
+     * The count in the label of a checker follows the reports added to the shown model in place.
+     */
+    @Test
+    public void testInvalidatedByModelChange() {
+        SearchList reports = new SearchList();
+        when(view.getReportList()).thenReturn(Optional.of(reports));
+        TreeViewer viewer = mock(TreeViewer.class);
+        when(viewer.getContentProvider()).thenReturn(new CheckerGroupContentProvider(view));
+        when(view.getViewer()).thenReturn(viewer);
+        BasicViewLabelProvider provider = new BasicViewLabelProvider(view, 1);
+
+        reports.addReports(ImmutableList.of(createReport(1)));
+        assertThat(provider.getText(ELEMENT), is(equalTo(ELEMENT + " (1)")));
+        reports.addReports(ImmutableList.of(createReport(2)));
+        assertThat(provider.getText(ELEMENT), is(equalTo(ELEMENT + " (2)")));
+    }
+
+    /**
+     * A cache of size 0 creates the label every time.
+     */
+    @Test
+    public void testDisabled() {
+        BasicViewLabelProvider provider = new CountingLabelProvider(view, 0);
+        provider.getText(ELEMENT);
+        provider.getText(ELEMENT);
+        assertThat(created, is(equalTo(2)));
+    }
+
+    /**
+     * @param line The line of the report.
+     * @return A report of the checker.
+     */
+    private static ReportInfo createReport(int line) {
+        String file = "/src/main.cpp";
+        Position position = new Position(line, 1);
+        BugPathItem item = new BugPathItem(position, position, "Event", file);
+        return new ReportInfo(ELEMENT, "hash" + line, file, "Report " + line, line, false, file, item,
+                Optional.of(new ProblemInfo(ImmutableList.of(item))));
+    }
+
+    /**
+     * Counts the created labels.
+     */
+    private final class CountingLabelProvider extends BasicViewLabelProvider {
+
+        /**
+         * @param view The view of the labels.
+         * @param cacheSize The maximal number of cached labels.
+         */
+        CountingLabelProvider(ReportListView view, int cacheSize) {
+            super(view, cacheSize);
+        }
+
+        @Override
+        protected String createText(Object obj) {
+            ++created;
+            return obj.toString();
+        }
+    }
+}
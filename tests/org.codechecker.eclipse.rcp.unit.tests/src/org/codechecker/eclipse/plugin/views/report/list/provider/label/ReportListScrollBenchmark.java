@@ -0,0 +1,93 @@
+package org.codechecker.eclipse.plugin.views.report.list.provider.label;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codechecker.eclipse.plugin.report.BugPathItem;
+import org.codechecker.eclipse.plugin.report.BugPathItem.Position;
+import org.codechecker.eclipse.plugin.report.ProblemInfo;
+import org.codechecker.eclipse.plugin.report.ReportInfo;
+import org.codechecker.eclipse.plugin.report.SearchList;
+import org.codechecker.eclipse.plugin.views.report.list.ReportListView;
+import org.codechecker.eclipse.rcp.shared.utils.Benchmarks;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures the time spent in the label provider while the report list is scrolled through, with and
+ * without the label cache. The scrolling is simulated: the labels and images of the visible rows are
+ * requested, and the visible window moves a few rows at a time, like the tree asks for them on repaint.
+ * Needs the workbench, the labels resolve the files in the workspace.
+ */
+public class ReportListScrollBenchmark {
+    private static final int REPORTS = 20000;
+    private static final int VISIBLE_ROWS = 40;
+    private static final int SCROLL_STEP = 3;
+    private static final int PASSES = 5;
+    private static final String CHECKER = "core.DivideZero";
+    private static final String FILE = "/project/src/benchmark.cpp";
+
+    /**
+     * Runs the benchmark and prints the results to standard out.
+     */
+    @Test
+    public void compareCaching() {
+        List<ReportInfo> rows = new ArrayList<>();
+        SearchList reports = generate(rows);
+        ReportListView view = mock(ReportListView.class);
+        when(view.getReportList()).thenReturn(Optional.of(reports));
+
+        new Benchmarks.Table("rows", "labels", "time(ms)")
+                .row(REPORTS, "uncached", Benchmarks.millis(scroll(new BasicViewLabelProvider(view, 0), rows)))
+                .row(REPORTS, "cached", Benchmarks.millis(scroll(new BasicViewLabelProvider(view), rows)))
+                .print();
+    }
+
+    /**
+     * Scrolls through the rows a few times.
+     * @param provider The label provider to be measured.
+     * @param rows The rows of the tree.
+     * @return The elapsed time in nanoseconds.
+     */
+    private static long scroll(BasicViewLabelProvider provider, List<ReportInfo> rows) {
+        final long[] length = { 0 };
+        long time = Benchmarks.time(() -> {
+            for (int pass = 0; pass < PASSES; ++pass) {
+                for (int top = 0; top + VISIBLE_ROWS <= rows.size(); top += SCROLL_STEP) {
+                    for (int row = top; row < top + VISIBLE_ROWS; ++row) {
+                        length[0] += provider.getText(rows.get(row)).length();
+                        provider.getImage(rows.get(row));
+                    }
+                }
+            }
+        });
+        provider.dispose();
+        if (length[0] == 0)
+            throw new IllegalStateException("No labels");
+        return time;
+    }
+
+    /**
+     * @param rows The reports are added to this too, in the order they are shown.
+     * @return A model with one checker with a lot of reports.
+     */
+    private static SearchList generate(List<ReportInfo> rows) {
+        ImmutableList.Builder<ReportInfo> reports = ImmutableList.builder();
+        for (int i = 0; i < REPORTS; ++i) {
+            Position position = new Position(i + 1, 1);
+            BugPathItem item = new BugPathItem(position, position, "Event " + i, FILE);
+            ReportInfo report = new ReportInfo(CHECKER, "hash" + i, FILE, "Report " + i, i, false, FILE, item,
+                    Optional.of(new ProblemInfo(ImmutableList.of(item))));
+            reports.add(report);
+            rows.add(report);
+        }
+        SearchList sl = new SearchList();
+        sl.addReports(reports.build());
+        return sl;
+    }
+}